@@ -0,0 +1,36 @@
+import org.springframework.boot.gradle.plugin.SpringBootPlugin
+
+plugins {
+    id("io.spring.dependency-management")
+    id("me.champeau.jmh")
+}
+
+dependencyManagement {
+    imports {
+        mavenBom(SpringBootPlugin.BOM_COORDINATES)
+    }
+}
+
+dependencies {
+    // Scenario modules under benchmark
+    jmh(project(":scenario-s1-core"))
+    jmh(project(":scenario-s2-multistore"))
+    jmh(project(":tc-common"))
+    // Types exposed by S1 entity and service signatures
+    jmh("org.springframework.data:spring-data-commons")
+    jmh("jakarta.persistence:jakarta.persistence-api")
+    jmh(libs.spring.boot.starter.amqp)
+    jmh("com.fasterxml.jackson.core:jackson-databind")
+    jmh("com.fasterxml.jackson.datatype:jackson-datatype-jsr310")
+}
+
+// Run a subset with: ./gradlew :benchmarks:jmh -Pjmh.includes=OrderEventConverter
+jmh {
+    findProperty("jmh.includes")?.let { includes = listOf(it.toString()) }
+    profilers = listOf("gc")
+    fork = 1
+    warmupIterations = 3
+    iterations = 5
+    resultFormat = "JSON"
+    zip64 = true
+}
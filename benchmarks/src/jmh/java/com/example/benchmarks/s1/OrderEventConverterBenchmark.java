@@ -0,0 +1,81 @@
+package com.example.benchmarks.s1;
+
+import com.example.s1.messaging.OrderCreatedEvent;
+import com.example.s1.messaging.OrderEventBinaryMessageConverter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.amqp.support.converter.MessageConverter;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialize/deserialize cost of order.exchange payloads.
+ * Compares the original map-based JSON payload, the typed JSON event and the compact binary layout.
+ * Run with the gc profiler to see bytes allocated per operation.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class OrderEventConverterBenchmark {
+
+    private MessageConverter jsonConverter;
+    private MessageConverter binaryConverter;
+    private OrderCreatedEvent event;
+    private Map<String, Object> mapEvent;
+    private Message jsonMessage;
+    private Message binaryMessage;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper()
+            .findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        jsonConverter = new Jackson2JsonMessageConverter(objectMapper);
+        binaryConverter = new OrderEventBinaryMessageConverter();
+
+        event = new OrderCreatedEvent(UUID.randomUUID(), "Benchmark Customer", new BigDecimal("1234.56"), Instant.now());
+        mapEvent = new HashMap<>();
+        mapEvent.put("orderId", event.orderId().toString());
+        mapEvent.put("customerName", event.customerName());
+        mapEvent.put("amount", event.amount().toString());
+        mapEvent.put("createdAt", event.createdAt().toString());
+
+        jsonMessage = jsonConverter.toMessage(event, new MessageProperties());
+        jsonMessage.getMessageProperties().setInferredArgumentType(OrderCreatedEvent.class);
+        binaryMessage = binaryConverter.toMessage(event, new MessageProperties());
+    }
+
+    @Benchmark
+    public Message serializeJsonMap() {
+        return jsonConverter.toMessage(mapEvent, new MessageProperties());
+    }
+
+    @Benchmark
+    public Message serializeJsonEvent() {
+        return jsonConverter.toMessage(event, new MessageProperties());
+    }
+
+    @Benchmark
+    public Message serializeBinaryEvent() {
+        return binaryConverter.toMessage(event, new MessageProperties());
+    }
+
+    @Benchmark
+    public Object deserializeJsonEvent() {
+        return jsonConverter.fromMessage(jsonMessage);
+    }
+
+    @Benchmark
+    public Object deserializeBinaryEvent() {
+        return binaryConverter.fromMessage(binaryMessage);
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.benchmarks.s1;
+
+import com.example.s1.domain.Order;
+import com.example.s1.messaging.OrderCreatedEvent;
+import com.example.s1.service.OrderMapper;
+import com.example.tc.dto.CreateOrderRequest;
+import com.example.tc.dto.OrderResponse;
+import com.example.tc.util.UuidStrategy;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.amqp.support.converter.MessageConverter;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-order CPU and allocation cost of the S1 request path.
+ * Covers entity construction, response mapping, event building for the publisher and JSON encoding.
+ * Run with the gc profiler to track bytes allocated per operation between releases.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class OrderHotPathBenchmark {
+
+    private static final CreateOrderRequest REQUEST = new CreateOrderRequest(
+        "Benchmark Customer", "Benchmark Product", 2, new BigDecimal("1234.56"));
+
+    /** Primary key generation, the default ({@code app.orders.id-strategy}) against random UUIDs. */
+    @Param({"TIME_ORDERED", "RANDOM"})
+    private UuidStrategy idStrategy;
+
+    private ObjectMapper objectMapper;
+    private MessageConverter jsonConverter;
+    private Order order;
+    private OrderResponse response;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new ObjectMapper()
+            .findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        jsonConverter = new Jackson2JsonMessageConverter(objectMapper);
+
+        order = OrderMapper.toOrder(REQUEST, idStrategy);
+        response = OrderMapper.toResponse(order);
+    }
+
+    @Benchmark
+    public Order constructOrder() {
+        return OrderMapper.toOrder(REQUEST, idStrategy);
+    }
+
+    @Benchmark
+    public OrderResponse mapToResponse() {
+        return OrderMapper.toResponse(order);
+    }
+
+    @Benchmark
+    public OrderCreatedEvent buildCreatedEvent() {
+        return OrderCreatedEvent.from(order);
+    }
+
+    @Benchmark
+    public Message buildAndConvertCreatedEvent() {
+        // What OrderEventPublisher hands to RabbitTemplate for each order
+        return jsonConverter.toMessage(OrderCreatedEvent.from(order), new MessageProperties());
+    }
+
+    @Benchmark
+    public byte[] serializeResponse() throws Exception {
+        return objectMapper.writeValueAsBytes(response);
+    }
+}
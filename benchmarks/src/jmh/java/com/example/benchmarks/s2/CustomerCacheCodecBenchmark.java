@@ -0,0 +1,84 @@
+package com.example.benchmarks.s2;
+
+import com.example.s2.domain.Customer;
+import com.example.s2.service.codec.CacheCompression;
+import com.example.s2.service.codec.CustomerCacheCodec;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encode/decode cost of S2 customer cache values.
+ * Compares the former JSON string values with the binary codec, with and without LZ4.
+ * Run with the gc profiler to compare bytes allocated per operation.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class CustomerCacheCodecBenchmark {
+
+    /** Typical address vs. a long free-text address that crosses the compression threshold. */
+    @Param({"32", "480"})
+    private int addressLength;
+
+    private ObjectMapper objectMapper;
+    private CustomerCacheCodec binary;
+    private CustomerCacheCodec binaryLz4;
+    private Customer customer;
+    private byte[] jsonValue;
+    private byte[] binaryValue;
+    private byte[] binaryLz4Value;
+
+    @Setup
+    public void setUp() throws Exception {
+        objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        binary = CustomerCacheCodec.of("binary", CacheCompression.NONE, 512);
+        binaryLz4 = CustomerCacheCodec.of("binary", CacheCompression.LZ4, 256);
+
+        customer = new Customer(UUID.randomUUID(), "Benchmark Customer", "benchmark@example.com");
+        customer.setPhone("+886-2-1234-5678");
+        customer.setAddress("No. 7, Section 5, Xinyi Road, ".repeat(addressLength / 30 + 1).substring(0, addressLength));
+        customer.setCreatedAt(Instant.now());
+        customer.setUpdatedAt(Instant.now());
+
+        jsonValue = encodeJson();
+        binaryValue = binary.encode(customer);
+        binaryLz4Value = binaryLz4.encode(customer);
+    }
+
+    @Benchmark
+    public byte[] encodeJson() throws Exception {
+        // What CacheService stored before the codec: a JSON string through StringRedisTemplate
+        return objectMapper.writeValueAsString(customer).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public byte[] encodeBinary() {
+        return binary.encode(customer);
+    }
+
+    @Benchmark
+    public byte[] encodeBinaryLz4() {
+        return binaryLz4.encode(customer);
+    }
+
+    @Benchmark
+    public Customer decodeJson() throws Exception {
+        return objectMapper.readValue(new String(jsonValue, StandardCharsets.UTF_8), Customer.class);
+    }
+
+    @Benchmark
+    public Customer decodeBinary() {
+        return binary.decode(binaryValue);
+    }
+
+    @Benchmark
+    public Customer decodeBinaryLz4() {
+        return binaryLz4.decode(binaryLz4Value);
+    }
+}
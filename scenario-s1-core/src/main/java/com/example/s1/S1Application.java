@@ -2,12 +2,14 @@ package com.example.s1;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * S1 Core Application - Basic Integration Testing Scenario.
  * Demonstrates PostgreSQL + RabbitMQ integration with Testcontainers.
  */
 @SpringBootApplication
+@EnableScheduling
 public class S1Application {
 
     public static void main(String[] args) {
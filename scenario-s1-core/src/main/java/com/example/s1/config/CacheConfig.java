@@ -0,0 +1,63 @@
+package com.example.s1.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.interceptor.CacheResolver;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * In-process cache configuration for order reads.
+ *
+ * Writes go through the transaction-aware {@link #cacheManager}, so evictions land only after
+ * commit. That leaves a window: a read-through fill that loaded the old row before a concurrent
+ * update committed can still land after that update's eviction. Such a stale entry lives at most
+ * until {@code expireAfterWrite} in {@code app.orders.cache.spec}.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String ORDERS_CACHE = "orders";
+    public static final String READ_THROUGH_CACHE_RESOLVER = "readThroughCacheResolver";
+
+    /**
+     * Bounded Caffeine caches behind a transaction-aware proxy.
+     * Puts and evictions are deferred until the surrounding transaction commits,
+     * so readers never see a state that was rolled back.
+     * This is the only cache manager bean, so cache metrics are bound once.
+     */
+    @Bean
+    public CacheManager cacheManager(
+            @Value("${app.orders.cache.spec:maximumSize=10000,expireAfterWrite=30s,recordStats}") String spec) {
+        CaffeineCacheManager caffeineCacheManager = new CaffeineCacheManager(ORDERS_CACHE);
+        caffeineCacheManager.setCacheSpecification(spec);
+        caffeineCacheManager.setAllowNullValues(false);
+        return new TransactionAwareCacheManagerProxy(caffeineCacheManager);
+    }
+
+    /**
+     * Resolves the same caches without the transaction-aware decorator, for read-through fills
+     * ({@code @Cacheable}). Fills are applied immediately: deferring them to after commit would
+     * widen the window in which a value read before a concurrent update lands after its eviction.
+     */
+    @Bean(READ_THROUGH_CACHE_RESOLVER)
+    public CacheResolver readThroughCacheResolver(CacheManager cacheManager) {
+        return context -> context.getOperation().getCacheNames().stream()
+            .map(name -> targetCache(cacheManager, name))
+            .toList();
+    }
+
+    private static Cache targetCache(CacheManager cacheManager, String name) {
+        Cache cache = cacheManager.getCache(name);
+        if (cache == null) {
+            throw new IllegalArgumentException("Cannot find cache named '" + name + "'");
+        }
+        return cache instanceof TransactionAwareCacheDecorator decorator ? decorator.getTargetCache() : cache;
+    }
+}
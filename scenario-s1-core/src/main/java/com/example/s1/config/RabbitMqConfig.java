@@ -1,14 +1,21 @@
 package com.example.s1.config;
 
+import com.example.s1.messaging.OrderEventBinaryMessageConverter;
 import com.example.s1.messaging.OrderEventConsumer;
 import com.example.s1.messaging.OrderEventPublisher;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.amqp.core.*;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.support.converter.ContentTypeDelegatingMessageConverter;
 import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
 import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.amqp.SimpleRabbitListenerContainerFactoryConfigurer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
 
 /**
  * RabbitMQ configuration for order messaging.
@@ -44,21 +51,98 @@ public class RabbitMqConfig {
     }
 
     /**
-     * JSON message converter for RabbitMQ.
+     * Message converter for RabbitMQ.
+     * Outbound messages use the format selected by {@code app.orders.messaging.format} (json or binary);
+     * inbound messages are decoded by their content type, so both formats are accepted at any time.
      */
     @Bean
-    public MessageConverter jsonMessageConverter() {
-        return new Jackson2JsonMessageConverter();
+    public MessageConverter orderMessageConverter(
+            ObjectMapper objectMapper,
+            @Value("${app.orders.messaging.format:json}") String format) {
+        MessageConverter json = new Jackson2JsonMessageConverter(objectMapper);
+        MessageConverter binary = new OrderEventBinaryMessageConverter();
+
+        ContentTypeDelegatingMessageConverter converter =
+            new ContentTypeDelegatingMessageConverter("binary".equals(format) ? binary : json);
+        converter.addDelegate(MessageProperties.CONTENT_TYPE_JSON, json);
+        converter.addDelegate(OrderEventBinaryMessageConverter.CONTENT_TYPE, binary);
+        return converter;
     }
 
     /**
-     * Configures RabbitTemplate with JSON converter.
+     * Configures RabbitTemplate with the order message converter.
+     * Messages are mandatory so unroutable events are returned and fail their publish future.
      */
     @Bean
     public RabbitTemplate rabbitTemplate(ConnectionFactory connectionFactory,
-                                         MessageConverter jsonMessageConverter) {
+                                         MessageConverter orderMessageConverter) {
         RabbitTemplate template = new RabbitTemplate(connectionFactory);
-        template.setMessageConverter(jsonMessageConverter);
+        template.setMessageConverter(orderMessageConverter);
+        template.setMandatory(true);
         return template;
     }
+
+    /**
+     * Default listener container factory used by the order consumers.
+     * Consumers start at {@code min-consumers} and may grow to {@code max-consumers};
+     * with {@code virtual-threads} enabled each consumer runs on a virtual thread.
+     * With {@code adaptive.enabled} the container's own scaling is off and
+     * {@link com.example.s1.messaging.OrderConsumerScaler} sets the consumer count.
+     */
+    @Bean
+    public SimpleRabbitListenerContainerFactory rabbitListenerContainerFactory(
+            SimpleRabbitListenerContainerFactoryConfigurer configurer,
+            ConnectionFactory connectionFactory,
+            @Value("${app.orders.consumer.min-consumers:1}") int minConsumers,
+            @Value("${app.orders.consumer.max-consumers:4}") int maxConsumers,
+            @Value("${app.orders.consumer.prefetch:250}") int prefetch,
+            @Value("${app.orders.consumer.virtual-threads:false}") boolean virtualThreads,
+            @Value("${app.orders.consumer.adaptive.enabled:false}") boolean adaptive) {
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        configurer.configure(factory, connectionFactory);
+        applyConsumerSettings(factory, minConsumers, maxConsumers, prefetch, virtualThreads, adaptive);
+        return factory;
+    }
+
+    /**
+     * Listener container factory for batch consumption.
+     * Delivers up to {@code batch-size} messages per call, or fewer once {@code receive-timeout-ms}
+     * elapses without filling the batch. The whole batch is acknowledged together.
+     */
+    @Bean
+    public SimpleRabbitListenerContainerFactory batchRabbitListenerContainerFactory(
+            SimpleRabbitListenerContainerFactoryConfigurer configurer,
+            ConnectionFactory connectionFactory,
+            @Value("${app.orders.consumer.min-consumers:1}") int minConsumers,
+            @Value("${app.orders.consumer.max-consumers:4}") int maxConsumers,
+            @Value("${app.orders.consumer.prefetch:250}") int prefetch,
+            @Value("${app.orders.consumer.virtual-threads:false}") boolean virtualThreads,
+            @Value("${app.orders.consumer.adaptive.enabled:false}") boolean adaptive,
+            @Value("${app.orders.consumer.batch-size:100}") int batchSize,
+            @Value("${app.orders.consumer.receive-timeout-ms:200}") long receiveTimeoutMillis) {
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        configurer.configure(factory, connectionFactory);
+        // A batch can never be larger than what the broker is allowed to push unacknowledged
+        applyConsumerSettings(factory, minConsumers, maxConsumers, Math.max(prefetch, batchSize), virtualThreads, adaptive);
+        factory.setBatchListener(true);
+        factory.setConsumerBatchEnabled(true);
+        factory.setBatchSize(batchSize);
+        factory.setBatchReceiveTimeout(receiveTimeoutMillis);
+        return factory;
+    }
+
+    private static void applyConsumerSettings(SimpleRabbitListenerContainerFactory factory,
+                                              int minConsumers,
+                                              int maxConsumers,
+                                              int prefetch,
+                                              boolean virtualThreads,
+                                              boolean adaptive) {
+        factory.setConcurrentConsumers(minConsumers);
+        // The adaptive scaler moves both bounds together; built-in scaling would fight it
+        factory.setMaxConcurrentConsumers(adaptive ? minConsumers : Math.max(minConsumers, maxConsumers));
+        factory.setPrefetchCount(prefetch);
+        if (virtualThreads) {
+            factory.setTaskExecutor(new VirtualThreadTaskExecutor("order-consumer-"));
+        }
+    }
 }
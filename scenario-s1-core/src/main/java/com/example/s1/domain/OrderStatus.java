@@ -33,5 +33,20 @@ public enum OrderStatus {
     /**
      * Order has been cancelled.
      */
-    CANCELLED
+    CANCELLED;
+
+    /**
+     * Checks whether an order in this status may move directly to the given one.
+     *
+     * @param next the target status
+     * @return true if the transition is part of the lifecycle above
+     */
+    public boolean canTransitionTo(OrderStatus next) {
+        return switch (this) {
+            case PENDING -> next == CONFIRMED || next == CANCELLED;
+            case CONFIRMED -> next == SHIPPED;
+            case SHIPPED -> next == DELIVERED;
+            case DELIVERED, CANCELLED -> false;
+        };
+    }
 }
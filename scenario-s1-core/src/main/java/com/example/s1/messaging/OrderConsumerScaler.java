@@ -0,0 +1,103 @@
+package com.example.s1.messaging;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.core.AmqpAdmin;
+import org.springframework.amqp.core.QueueInformation;
+import org.springframework.amqp.rabbit.listener.MessageListenerContainer;
+import org.springframework.amqp.rabbit.listener.RabbitListenerEndpointRegistry;
+import org.springframework.amqp.rabbit.listener.SimpleMessageListenerContainer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Scales the order created listener with the depth of {@code order.created.queue}.
+ * Consumers are added immediately when the backlog grows and removed one per interval as it drains.
+ * The container's minimum and maximum are both pinned to the target, so its own idle-based
+ * scaling cannot drift from the count set here.
+ * Enabled with {@code app.orders.consumer.adaptive.enabled=true}.
+ */
+@Component
+@ConditionalOnProperty(name = "app.orders.consumer.adaptive.enabled", havingValue = "true")
+public class OrderConsumerScaler {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderConsumerScaler.class);
+
+    private final AmqpAdmin amqpAdmin;
+    private final RabbitListenerEndpointRegistry listenerRegistry;
+    private final int minConsumers;
+    private final int maxConsumers;
+    private final int messagesPerConsumer;
+
+    private volatile int targetConsumers;
+
+    public OrderConsumerScaler(AmqpAdmin amqpAdmin,
+                               RabbitListenerEndpointRegistry listenerRegistry,
+                               @Value("${app.orders.consumer.min-consumers:1}") int minConsumers,
+                               @Value("${app.orders.consumer.max-consumers:4}") int maxConsumers,
+                               @Value("${app.orders.consumer.adaptive.messages-per-consumer:500}") int messagesPerConsumer) {
+        this.amqpAdmin = amqpAdmin;
+        this.listenerRegistry = listenerRegistry;
+        this.minConsumers = minConsumers;
+        this.maxConsumers = Math.max(minConsumers, maxConsumers);
+        this.messagesPerConsumer = Math.max(1, messagesPerConsumer);
+        this.targetConsumers = minConsumers;
+    }
+
+    /**
+     * Samples the queue depth and adjusts the number of consumers.
+     */
+    @Scheduled(fixedDelayString = "${app.orders.consumer.adaptive.interval-ms:1000}")
+    public void adjust() {
+        QueueInformation queueInfo = amqpAdmin.getQueueInfo(OrderEventConsumer.QUEUE);
+        if (queueInfo != null) {
+            scaleFor(queueInfo.getMessageCount());
+        }
+    }
+
+    /**
+     * Adjusts the number of consumers for the given queue depth.
+     *
+     * @param queueDepth number of ready messages in the queue
+     * @return the resulting target consumer count
+     */
+    public synchronized int scaleFor(long queueDepth) {
+        MessageListenerContainer container = listenerRegistry.getListenerContainer(OrderEventConsumer.LISTENER_ID);
+        if (!(container instanceof SimpleMessageListenerContainer simpleContainer)) {
+            return targetConsumers;
+        }
+
+        int desired = desiredConsumers(queueDepth);
+        int current = targetConsumers;
+        int next = desired >= current ? desired : current - 1;
+        if (next != current) {
+            // Keep concurrent <= max at every step
+            if (next > current) {
+                simpleContainer.setMaxConcurrentConsumers(next);
+                simpleContainer.setConcurrentConsumers(next);
+            } else {
+                simpleContainer.setConcurrentConsumers(next);
+                simpleContainer.setMaxConcurrentConsumers(next);
+            }
+            targetConsumers = next;
+            log.info("Scaled order consumers from {} to {} (queue depth {})", current, next, queueDepth);
+        }
+        return next;
+    }
+
+    /**
+     * Gets the number of consumers the scaler last requested.
+     *
+     * @return the target consumer count
+     */
+    public int getTargetConsumers() {
+        return targetConsumers;
+    }
+
+    private int desiredConsumers(long queueDepth) {
+        long needed = (queueDepth + messagesPerConsumer - 1) / messagesPerConsumer;
+        return (int) Math.min(maxConsumers, Math.max(minConsumers, needed));
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.s1.messaging;
+
+import com.example.s1.domain.Order;
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Event published to {@code order.exchange} when an order is created.
+ * The JSON form keeps the amount as a string, matching the original map-based payload.
+ *
+ * @param orderId      the order ID
+ * @param customerName the customer name
+ * @param amount       the order amount
+ * @param createdAt    the order creation time
+ */
+public record OrderCreatedEvent(
+    UUID orderId,
+    String customerName,
+    @JsonFormat(shape = JsonFormat.Shape.STRING) BigDecimal amount,
+    Instant createdAt
+) {
+
+    /**
+     * Creates the event for a created order.
+     *
+     * @param order the created order
+     * @return the event
+     */
+    public static OrderCreatedEvent from(Order order) {
+        return new OrderCreatedEvent(
+            order.getId(),
+            order.getCustomerName(),
+            order.getAmount(),
+            order.getCreatedAt()
+        );
+    }
+}
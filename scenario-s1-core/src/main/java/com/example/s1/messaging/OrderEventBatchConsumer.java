@@ -0,0 +1,69 @@
+package com.example.s1.messaging;
+
+import com.example.s1.config.CacheConfig;
+import com.example.s1.domain.OrderStatus;
+import com.example.s1.repository.OrderRepository;
+import com.example.s1.service.OrderStatusCounters;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Consumes order created events from RabbitMQ in batches.
+ * Confirms every referenced order with a single UPDATE and acknowledges the batch together.
+ * Enabled with {@code app.orders.consumer.batch-enabled=true}.
+ */
+@Component
+@ConditionalOnProperty(name = "app.orders.consumer.batch-enabled", havingValue = "true")
+public class OrderEventBatchConsumer {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderEventBatchConsumer.class);
+
+    private final OrderRepository orderRepository;
+    private final Cache ordersCache;
+    private final OrderStatusCounters orderStatusCounters;
+
+    public OrderEventBatchConsumer(OrderRepository orderRepository,
+                                   CacheManager cacheManager,
+                                   OrderStatusCounters orderStatusCounters) {
+        this.orderRepository = orderRepository;
+        this.ordersCache = cacheManager.getCache(CacheConfig.ORDERS_CACHE);
+        this.orderStatusCounters = orderStatusCounters;
+    }
+
+    /**
+     * Handles a batch of order created events.
+     * Orders that are no longer PENDING are skipped, so redelivered events are harmless.
+     *
+     * @param events the order created events
+     */
+    @RabbitListener(
+        id = OrderEventConsumer.LISTENER_ID,
+        queues = OrderEventConsumer.QUEUE,
+        containerFactory = "batchRabbitListenerContainerFactory")
+    @Transactional
+    public void handleOrderCreatedBatch(List<OrderCreatedEvent> events) {
+        Set<UUID> orderIds = new LinkedHashSet<>(events.size());
+        for (OrderCreatedEvent event : events) {
+            orderIds.add(event.orderId());
+        }
+
+        int confirmed = orderRepository.updateStatusIn(
+            orderIds, OrderStatus.PENDING, OrderStatus.CONFIRMED, Instant.now());
+        // Evictions are applied after commit by the transaction-aware cache
+        orderIds.forEach(ordersCache::evict);
+        orderStatusCounters.recordTransition(OrderStatus.PENDING, OrderStatus.CONFIRMED, confirmed);
+        log.info("Received {} order created events, confirmed {} orders", events.size(), confirmed);
+    }
+}
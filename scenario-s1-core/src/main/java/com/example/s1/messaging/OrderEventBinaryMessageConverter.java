@@ -0,0 +1,96 @@
+package com.example.s1.messaging;
+
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.MessageConversionException;
+import org.springframework.amqp.support.converter.MessageConverter;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Compact binary encoding for {@link OrderCreatedEvent}.
+ *
+ * Layout (big-endian):
+ * <pre>
+ * version        1 byte
+ * orderId       16 bytes (most, least significant bits)
+ * amount         8 bytes unscaled value + 1 byte scale
+ * createdAt      8 bytes epoch millis
+ * customerName   2 bytes length + UTF-8 bytes
+ * </pre>
+ * Timestamps are truncated to millisecond precision.
+ */
+public class OrderEventBinaryMessageConverter implements MessageConverter {
+
+    public static final String CONTENT_TYPE = "application/x-order-event";
+
+    private static final byte VERSION = 1;
+    private static final int FIXED_LENGTH = 1 + 16 + 8 + 1 + 8 + 2;
+
+    @Override
+    public Message toMessage(Object object, MessageProperties messageProperties) {
+        if (!(object instanceof OrderCreatedEvent event)) {
+            throw new MessageConversionException("Unsupported payload type: " + object.getClass().getName());
+        }
+        byte[] customerName = event.customerName().getBytes(StandardCharsets.UTF_8);
+        if (customerName.length > 0xFFFF) {
+            throw new MessageConversionException("Customer name too long for binary encoding");
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(FIXED_LENGTH + customerName.length)
+            .put(VERSION)
+            .putLong(event.orderId().getMostSignificantBits())
+            .putLong(event.orderId().getLeastSignificantBits())
+            .putLong(unscaledAmount(event.amount()))
+            .put(amountScale(event.amount()))
+            .putLong(event.createdAt().toEpochMilli())
+            .putShort((short) customerName.length)
+            .put(customerName);
+
+        messageProperties.setContentType(CONTENT_TYPE);
+        messageProperties.setContentLength(buffer.capacity());
+        return new Message(buffer.array(), messageProperties);
+    }
+
+    @Override
+    public Object fromMessage(Message message) {
+        ByteBuffer buffer = ByteBuffer.wrap(message.getBody());
+        try {
+            byte version = buffer.get();
+            if (version != VERSION) {
+                throw new MessageConversionException("Unsupported order event version: " + version);
+            }
+            UUID orderId = new UUID(buffer.getLong(), buffer.getLong());
+            BigDecimal amount = BigDecimal.valueOf(buffer.getLong(), buffer.get());
+            Instant createdAt = Instant.ofEpochMilli(buffer.getLong());
+            byte[] customerName = new byte[Short.toUnsignedInt(buffer.getShort())];
+            buffer.get(customerName);
+            return new OrderCreatedEvent(orderId, new String(customerName, StandardCharsets.UTF_8), amount, createdAt);
+        } catch (RuntimeException e) {
+            if (e instanceof MessageConversionException) {
+                throw e;
+            }
+            throw new MessageConversionException("Malformed binary order event", e);
+        }
+    }
+
+    private static long unscaledAmount(BigDecimal amount) {
+        try {
+            return amount.unscaledValue().longValueExact();
+        } catch (ArithmeticException e) {
+            throw new MessageConversionException("Amount exceeds binary encoding range: " + amount, e);
+        }
+    }
+
+    private static byte amountScale(BigDecimal amount) {
+        int scale = amount.scale();
+        if (scale < Byte.MIN_VALUE || scale > Byte.MAX_VALUE) {
+            throw new MessageConversionException("Amount scale exceeds binary encoding range: " + scale);
+        }
+        return (byte) scale;
+    }
+}
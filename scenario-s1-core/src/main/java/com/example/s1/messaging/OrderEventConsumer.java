@@ -1,55 +1,118 @@
 package com.example.s1.messaging;
 
-import com.example.s1.domain.Order;
+import com.example.s1.config.CacheConfig;
+import com.example.s1.domain.OrderStatus;
 import com.example.s1.repository.OrderRepository;
+import com.example.s1.service.OrderStatusCounters;
+import com.example.s1.service.OrderStatusWriteBehind;
+import com.rabbitmq.client.Channel;
+import com.rabbitmq.client.ShutdownSignalException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.support.AmqpHeaders;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Map;
+import java.io.IOException;
+import java.time.Instant;
 import java.util.UUID;
 
 /**
  * Consumes order events from RabbitMQ.
  * Processes order created events and updates order status.
+ * Replaced by {@link OrderEventBatchConsumer} when {@code app.orders.consumer.batch-enabled} is true.
  */
 @Component
+@ConditionalOnProperty(name = "app.orders.consumer.batch-enabled", havingValue = "false", matchIfMissing = true)
 public class OrderEventConsumer {
 
     private static final Logger log = LoggerFactory.getLogger(OrderEventConsumer.class);
 
     public static final String QUEUE = "order.created.queue";
+    public static final String LISTENER_ID = "orderCreatedListener";
 
     private final OrderRepository orderRepository;
+    private final Cache ordersCache;
+    private final OrderStatusCounters orderStatusCounters;
+    private final OrderStatusWriteBehind writeBehind;
 
-    public OrderEventConsumer(OrderRepository orderRepository) {
+    public OrderEventConsumer(OrderRepository orderRepository,
+                              CacheManager cacheManager,
+                              OrderStatusCounters orderStatusCounters,
+                              ObjectProvider<OrderStatusWriteBehind> writeBehind) {
         this.orderRepository = orderRepository;
+        this.ordersCache = cacheManager.getCache(CacheConfig.ORDERS_CACHE);
+        this.orderStatusCounters = orderStatusCounters;
+        this.writeBehind = writeBehind.getIfAvailable();
     }
 
     /**
      * Handles order created events.
-     * Confirms the order upon receiving the event.
+     * Confirms the order upon receiving the event with a single conditional UPDATE.
+     * Redelivered events and orders already moved on by the API are skipped.
+     * With write-behind enabled the confirmation is buffered, so replays of the same order coalesce;
+     * the listener then acknowledges manually, once the buffered UPDATE is committed, and at most
+     * {@code prefetch} events per consumer wait unacknowledged in the buffer.
      *
-     * @param event the order created event
+     * @param event       the order created event
+     * @param channel     the channel the event arrived on
+     * @param deliveryTag the delivery tag to acknowledge in write-behind mode
      */
-    @RabbitListener(queues = QUEUE)
+    @RabbitListener(id = LISTENER_ID, queues = QUEUE,
+        ackMode = "#{'${app.orders.write-behind.enabled:false}' == 'true' ? 'MANUAL' : 'AUTO'}")
     @Transactional
-    public void handleOrderCreated(Map<String, Object> event) {
-        String orderIdStr = (String) event.get("orderId");
-        log.info("Received order created event for order: {}", orderIdStr);
+    public void handleOrderCreated(OrderCreatedEvent event,
+                                   Channel channel,
+                                   @Header(AmqpHeaders.DELIVERY_TAG) long deliveryTag) {
+        UUID orderId = event.orderId();
+        log.info("Received order created event for order: {}", orderId);
+
+        if (writeBehind != null) {
+            writeBehind.submit(orderId, OrderStatus.PENDING, OrderStatus.CONFIRMED)
+                .whenComplete((written, error) -> acknowledge(channel, deliveryTag, error));
+            return;
+        }
 
         try {
-            UUID orderId = UUID.fromString(orderIdStr);
-            orderRepository.findById(orderId).ifPresent(order -> {
-                order.confirm();
-                orderRepository.save(order);
-                log.info("Order {} confirmed", orderId);
-            });
+            int confirmed = orderRepository.transitionStatus(
+                orderId, OrderStatus.PENDING, OrderStatus.CONFIRMED, Instant.now());
+            if (confirmed == 0) {
+                log.info("Order {} is missing or no longer pending, skipping", orderId);
+                return;
+            }
+            ordersCache.evict(orderId);
+            orderStatusCounters.recordTransition(OrderStatus.PENDING, OrderStatus.CONFIRMED, 1);
+            log.info("Order {} confirmed", orderId);
         } catch (Exception e) {
             log.error("Error processing order created event: {}", e.getMessage(), e);
             throw e;
         }
     }
+
+    /**
+     * Acknowledges a write-behind confirmation, or requeues it if the buffered write failed.
+     * An order that is missing or has moved on is rejected without requeue, as the direct path skips it.
+     * If the channel has closed meanwhile the broker redelivers the event, which is harmless
+     * because the confirmation is a conditional UPDATE.
+     */
+    private static void acknowledge(Channel channel, long deliveryTag, Throwable error) {
+        try {
+            if (error == null) {
+                channel.basicAck(deliveryTag, false);
+            } else if (error instanceof OrderStatusWriteBehind.StaleTransitionException) {
+                log.info("Rejecting delivery {}: {}", deliveryTag, error.getMessage());
+                channel.basicNack(deliveryTag, false, false);
+            } else {
+                channel.basicNack(deliveryTag, false, true);
+            }
+        } catch (IOException | ShutdownSignalException e) {
+            log.warn("Could not acknowledge delivery {}, it will be redelivered: {}", deliveryTag, e.getMessage());
+        }
+    }
 }
@@ -3,15 +3,26 @@ package com.example.s1.messaging;
 import com.example.s1.domain.Order;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.ReturnedMessage;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Publishes order events to RabbitMQ.
  * This is an adapter (driven adapter) in hexagonal architecture terms.
+ *
+ * Asynchronous publishes are pipelined: each returns a future completed by the broker's publisher
+ * confirm, and at most {@code app.orders.publisher.max-in-flight} events may be unconfirmed at once.
+ * Callers block only when the window is full, so throughput grows with the window rather than with
+ * the broker round trip.
  */
 @Component
 public class OrderEventPublisher {
@@ -22,24 +33,91 @@ public class OrderEventPublisher {
     public static final String ROUTING_KEY_CREATED = "order.created";
 
     private final RabbitTemplate rabbitTemplate;
+    private final int maxInFlight;
+    private final Semaphore inFlight;
+    private final long confirmTimeoutMillis;
 
-    public OrderEventPublisher(RabbitTemplate rabbitTemplate) {
+    public OrderEventPublisher(RabbitTemplate rabbitTemplate,
+                               @Value("${app.orders.publisher.max-in-flight:256}") int maxInFlight,
+                               @Value("${app.orders.publisher.confirm-timeout-ms:5000}") long confirmTimeoutMillis) {
         this.rabbitTemplate = rabbitTemplate;
+        this.maxInFlight = Math.max(1, maxInFlight);
+        this.inFlight = new Semaphore(this.maxInFlight);
+        this.confirmTimeoutMillis = confirmTimeoutMillis;
     }
 
     /**
-     * Publishes an order created event.
+     * Publishes an order created event without waiting for the broker.
      *
      * @param order the created order
      */
     public void publishOrderCreated(Order order) {
-        Map<String, Object> event = new HashMap<>();
-        event.put("orderId", order.getId().toString());
-        event.put("customerName", order.getCustomerName());
-        event.put("amount", order.getAmount().toString());
-        event.put("createdAt", order.getCreatedAt().toString());
+        OrderCreatedEvent event = OrderCreatedEvent.from(order);
 
         log.info("Publishing order created event for order: {}", order.getId());
         rabbitTemplate.convertAndSend(EXCHANGE, ROUTING_KEY_CREATED, event);
     }
+
+    /**
+     * Publishes an order created event and tracks its publisher confirm.
+     *
+     * @param order the created order
+     * @return a future completed when the broker confirms the event
+     */
+    public CompletableFuture<Void> publishOrderCreatedAsync(Order order) {
+        return publishAsync(ROUTING_KEY_CREATED, OrderCreatedEvent.from(order));
+    }
+
+    /**
+     * Publishes an event and tracks its publisher confirm.
+     * Blocks while {@code max-in-flight} events are awaiting confirms.
+     * The future fails with an {@link AmqpException} if the broker nacks the event or returns it as
+     * unroutable, and with a {@link java.util.concurrent.TimeoutException} if no confirm arrives
+     * within {@code confirm-timeout-ms}.
+     *
+     * @param routingKey the routing key on the order exchange
+     * @param event      the event payload
+     * @return a future completed when the broker confirms the event
+     */
+    public CompletableFuture<Void> publishAsync(String routingKey, Object event) {
+        try {
+            inFlight.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return CompletableFuture.failedFuture(new AmqpException("Interrupted waiting for publish window", e));
+        }
+
+        CorrelationData correlationData = new CorrelationData(UUID.randomUUID().toString());
+        try {
+            rabbitTemplate.convertAndSend(EXCHANGE, routingKey, event, correlationData);
+        } catch (RuntimeException e) {
+            inFlight.release();
+            return CompletableFuture.failedFuture(e);
+        }
+
+        CompletableFuture<Void> result = correlationData.getFuture()
+            .orTimeout(confirmTimeoutMillis, TimeUnit.MILLISECONDS)
+            .thenApply(confirm -> {
+                if (!confirm.isAck()) {
+                    throw new AmqpException("Event nacked by broker: " + confirm.getReason());
+                }
+                // Returns arrive before the confirm, so the returned message is already set here
+                ReturnedMessage returned = correlationData.getReturned();
+                if (returned != null) {
+                    throw new AmqpException("Event returned as unroutable: " + returned.getReplyText());
+                }
+                return null;
+            });
+        result.whenComplete((ignored, error) -> inFlight.release());
+        return result;
+    }
+
+    /**
+     * Returns the number of published events awaiting a publisher confirm.
+     *
+     * @return events in flight
+     */
+    public int getInFlightCount() {
+        return maxInFlight - inFlight.availablePermits();
+    }
 }
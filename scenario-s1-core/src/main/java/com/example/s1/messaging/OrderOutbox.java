@@ -0,0 +1,65 @@
+package com.example.s1.messaging;
+
+import com.example.s1.domain.Order;
+import com.example.s1.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Records order events in the transactional outbox.
+ * Events are stored with the order in one transaction and published later by {@link OrderOutboxRelay}.
+ */
+@Component
+public class OrderOutbox {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    public OrderOutbox(OutboxEventRepository outboxEventRepository, ObjectMapper objectMapper) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Records an order created event.
+     * Must be called within the transaction that persists the order.
+     *
+     * @param order the created order
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordOrderCreated(Order order) {
+        String payload = toJson(OrderCreatedEvent.from(order));
+        outboxEventRepository.save(
+            new OutboxEvent(order.getId(), OrderEventPublisher.ROUTING_KEY_CREATED, payload));
+    }
+
+    /**
+     * Records order created events for a batch of orders.
+     * Must be called within the transaction that persists the orders.
+     *
+     * @param orders the created orders
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordOrdersCreated(List<Order> orders) {
+        List<OutboxEvent> events = orders.stream()
+            .map(order -> new OutboxEvent(
+                order.getId(),
+                OrderEventPublisher.ROUTING_KEY_CREATED,
+                toJson(OrderCreatedEvent.from(order))))
+            .toList();
+        outboxEventRepository.saveAll(events);
+    }
+
+    private String toJson(Object event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize order event", e);
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.s1.messaging;
+
+import com.example.s1.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Drains the order outbox to RabbitMQ.
+ * Each batch is published in one go and only entries acknowledged by a publisher confirm
+ * are removed; anything else stays in the outbox and is retried on the next run.
+ * Entries whose payload cannot be read are parked with {@code failed_at} instead of blocking the outbox.
+ *
+ * The batch's rows stay locked, and its transaction and connection open, while the relay waits for
+ * confirms, so each batch holds them for up to {@code app.outbox.confirm-timeout-ms}. Keep that well
+ * below the database's lock and idle-in-transaction timeouts.
+ */
+@Component
+public class OrderOutboxRelay {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderOutboxRelay.class);
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OrderEventPublisher orderEventPublisher;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final long confirmTimeoutMillis;
+
+    public OrderOutboxRelay(OutboxEventRepository outboxEventRepository,
+                            OrderEventPublisher orderEventPublisher,
+                            ObjectMapper objectMapper,
+                            TransactionTemplate transactionTemplate,
+                            @Value("${app.outbox.batch-size:100}") int batchSize,
+                            @Value("${app.outbox.confirm-timeout-ms:5000}") long confirmTimeoutMillis) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.orderEventPublisher = orderEventPublisher;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.confirmTimeoutMillis = confirmTimeoutMillis;
+    }
+
+    /**
+     * Relays pending outbox entries until the outbox is drained or a batch is not fully confirmed.
+     */
+    @Scheduled(fixedDelayString = "${app.outbox.relay-interval-ms:200}")
+    public void relay() {
+        boolean drainedFullBatch;
+        do {
+            Boolean result = transactionTemplate.execute(status -> relayBatch());
+            drainedFullBatch = Boolean.TRUE.equals(result);
+        } while (drainedFullBatch);
+    }
+
+    /**
+     * Publishes one batch and deletes the confirmed entries.
+     *
+     * @return true if a full batch was confirmed and more entries may be waiting
+     */
+    private boolean relayBatch() {
+        List<OutboxEvent> batch = outboxEventRepository.lockNextBatch(batchSize);
+        if (batch.isEmpty()) {
+            return false;
+        }
+
+        List<OutboxEvent> published = new ArrayList<>(batch.size());
+        List<CompletableFuture<Void>> confirms = new ArrayList<>(batch.size());
+        for (OutboxEvent event : batch) {
+            OrderCreatedEvent payload = readPayload(event);
+            if (payload == null) {
+                // Updated on commit; retrying would hold up every later entry
+                event.markFailed();
+                continue;
+            }
+            published.add(event);
+            confirms.add(orderEventPublisher.publishAsync(event.getRoutingKey(), payload));
+        }
+
+        List<Long> confirmed = awaitConfirms(published, confirms);
+        outboxEventRepository.deleteAllByIdInBatch(confirmed);
+        log.debug("Relayed {} of {} outbox events", confirmed.size(), batch.size());
+
+        return batch.size() == batchSize && confirmed.size() == published.size();
+    }
+
+    private List<Long> awaitConfirms(List<OutboxEvent> batch, List<CompletableFuture<Void>> confirms) {
+        List<Long> confirmed = new ArrayList<>(batch.size());
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(confirmTimeoutMillis);
+        for (int i = 0; i < batch.size(); i++) {
+            Long eventId = batch.get(i).getId();
+            try {
+                long remaining = Math.max(0, deadline - System.nanoTime());
+                confirms.get(i).get(remaining, TimeUnit.NANOSECONDS);
+                confirmed.add(eventId);
+            } catch (TimeoutException e) {
+                log.warn("Timed out waiting for publisher confirms, {} outbox events will be retried",
+                    batch.size() - i);
+                break;
+            } catch (ExecutionException e) {
+                log.warn("Outbox event {} was not confirmed: {}", eventId, e.getCause().getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        return confirmed;
+    }
+
+    /**
+     * @return the event, or null if the payload is corrupt
+     */
+    private OrderCreatedEvent readPayload(OutboxEvent event) {
+        try {
+            return objectMapper.readValue(event.getPayload(), OrderCreatedEvent.class);
+        } catch (JsonProcessingException e) {
+            log.error("Corrupt outbox payload for event {}, parking it", event.getId(), e);
+            return null;
+        }
+    }
+}
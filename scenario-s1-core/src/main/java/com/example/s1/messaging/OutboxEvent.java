@@ -0,0 +1,75 @@
+package com.example.s1.messaging;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Outbox entry holding an order event until it has been relayed to RabbitMQ.
+ * Written in the same transaction as the order it describes.
+ */
+@Entity
+@Table(name = "order_outbox")
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_outbox_seq")
+    @SequenceGenerator(name = "order_outbox_seq", sequenceName = "order_outbox_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "aggregate_id", nullable = false)
+    private UUID aggregateId;
+
+    @Column(name = "routing_key", nullable = false, length = 100)
+    private String routingKey;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    @Column(name = "failed_at")
+    private Instant failedAt;
+
+    protected OutboxEvent() {
+    }
+
+    public OutboxEvent(UUID aggregateId, String routingKey, String payload) {
+        this.aggregateId = aggregateId;
+        this.routingKey = routingKey;
+        this.payload = payload;
+        this.createdAt = Instant.now();
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public UUID getAggregateId() {
+        return aggregateId;
+    }
+
+    public String getRoutingKey() {
+        return routingKey;
+    }
+
+    public String getPayload() {
+        return payload;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public Instant getFailedAt() {
+        return failedAt;
+    }
+
+    /**
+     * Parks the entry so the relay no longer picks it up.
+     */
+    public void markFailed() {
+        this.failedAt = Instant.now();
+    }
+}
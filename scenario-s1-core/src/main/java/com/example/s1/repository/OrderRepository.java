@@ -2,13 +2,24 @@ package com.example.s1.repository;
 
 import com.example.s1.domain.Order;
 import com.example.s1.domain.OrderStatus;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 /**
  * Repository interface for Order persistence operations.
@@ -41,4 +52,169 @@ public interface OrderRepository extends JpaRepository<Order, UUID> {
      * @return count of orders with the given status
      */
     long countByStatus(OrderStatus status);
+
+    /**
+     * Counts orders per status in a single grouped scan.
+     *
+     * @return one row per status that has at least one order
+     */
+    @Query("SELECT o.status AS status, COUNT(o) AS count FROM Order o GROUP BY o.status")
+    List<StatusCount> countGroupedByStatus();
+
+    /**
+     * Finds which of the given orders are in the given status.
+     *
+     * @param ids    the order IDs
+     * @param status the status to check for
+     * @return IDs of the orders in that status
+     */
+    @Query("SELECT o.id FROM Order o WHERE o.id IN :ids AND o.status = :status")
+    List<UUID> findIdsInStatus(@Param("ids") Collection<UUID> ids, @Param("status") OrderStatus status);
+
+    /**
+     * Transitions all given orders that are still in the expected status in one statement.
+     * Orders in any other status are left untouched.
+     *
+     * @param ids  the order IDs
+     * @param from the expected current status
+     * @param to   the target status
+     * @param now  the update timestamp
+     * @return number of orders transitioned
+     */
+    @Modifying
+    @Query("""
+            UPDATE Order o
+            SET o.status = :to, o.updatedAt = :now, o.version = o.version + 1
+            WHERE o.id IN :ids AND o.status = :from
+            """)
+    int updateStatusIn(@Param("ids") Collection<UUID> ids,
+                       @Param("from") OrderStatus from,
+                       @Param("to") OrderStatus to,
+                       @Param("now") Instant now);
+
+    /**
+     * Transitions a single order if it is still in the expected status, in one conditional UPDATE.
+     * Concurrent callers race on the row lock; exactly one of them sees a count of 1.
+     * The persistence context is flushed before and cleared after, so later reads see the new state.
+     *
+     * @param id   the order ID
+     * @param from the expected current status
+     * @param to   the target status
+     * @param now  the update timestamp
+     * @return 1 if the order was transitioned, 0 if it does not exist or is in another status
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            UPDATE Order o
+            SET o.status = :to, o.updatedAt = :now, o.version = o.version + 1
+            WHERE o.id = :id AND o.status = :from
+            """)
+    int transitionStatus(@Param("id") UUID id,
+                         @Param("from") OrderStatus from,
+                         @Param("to") OrderStatus to,
+                         @Param("now") Instant now);
+
+    /**
+     * Returns the newest orders, ordered by (created_at, id) descending.
+     * First window of a keyset scroll; no count query is issued.
+     *
+     * @param limit maximum number of orders
+     * @return the newest orders
+     */
+    @Query(value = """
+            SELECT * FROM orders
+            ORDER BY created_at DESC, id DESC
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<Order> findFirstWindow(@Param("limit") int limit);
+
+    /**
+     * Returns the orders that follow the given (created_at, id) position.
+     *
+     * @param createdAt creation time of the last seen order
+     * @param id        ID of the last seen order
+     * @param limit     maximum number of orders
+     * @return the next orders, newest first
+     */
+    @Query(value = """
+            SELECT * FROM orders
+            WHERE (created_at, id) < (:createdAt, :id)
+            ORDER BY created_at DESC, id DESC
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<Order> findWindowAfter(@Param("createdAt") Instant createdAt,
+                                @Param("id") UUID id,
+                                @Param("limit") int limit);
+
+    /**
+     * Returns the newest orders with a specific status.
+     *
+     * @param status the order status name
+     * @param limit  maximum number of orders
+     * @return the newest orders with the given status
+     */
+    @Query(value = """
+            SELECT * FROM orders
+            WHERE status = :status
+            ORDER BY created_at DESC, id DESC
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<Order> findFirstWindowByStatus(@Param("status") String status,
+                                        @Param("limit") int limit);
+
+    /**
+     * Returns the orders with a specific status that follow the given (created_at, id) position.
+     *
+     * @param status    the order status name
+     * @param createdAt creation time of the last seen order
+     * @param id        ID of the last seen order
+     * @param limit     maximum number of orders
+     * @return the next orders with the given status, newest first
+     */
+    @Query(value = """
+            SELECT * FROM orders
+            WHERE status = :status
+              AND (created_at, id) < (:createdAt, :id)
+            ORDER BY created_at DESC, id DESC
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<Order> findWindowByStatusAfter(@Param("status") String status,
+                                        @Param("createdAt") Instant createdAt,
+                                        @Param("id") UUID id,
+                                        @Param("limit") int limit);
+
+    /**
+     * Streams orders oldest first for bulk export.
+     * Rows are fetched from a server-side cursor in chunks and loaded read-only;
+     * the stream must be consumed and closed inside a transaction.
+     *
+     * @param status optional status filter
+     * @param from   optional inclusive lower bound on created_at
+     * @param to     optional exclusive upper bound on created_at
+     * @return stream of matching orders
+     */
+    @QueryHints({
+        @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+        SELECT o FROM Order o
+        WHERE (:status IS NULL OR o.status = :status)
+          AND (:from IS NULL OR o.createdAt >= :from)
+          AND (:to IS NULL OR o.createdAt < :to)
+        ORDER BY o.createdAt, o.id
+        """)
+    Stream<Order> streamForExport(@Param("status") OrderStatus status,
+                                  @Param("from") Instant from,
+                                  @Param("to") Instant to);
+
+    /**
+     * Projection for grouped status counts.
+     */
+    interface StatusCount {
+
+        OrderStatus getStatus();
+
+        long getCount();
+    }
 }
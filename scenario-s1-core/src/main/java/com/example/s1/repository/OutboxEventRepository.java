@@ -0,0 +1,33 @@
+package com.example.s1.repository;
+
+import com.example.s1.messaging.OutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repository interface for order outbox entries.
+ * This is a port (driven port) in hexagonal architecture terms.
+ */
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * Locks the oldest outbox entries for relaying, leaving out entries parked as failed.
+     * Rows locked by another relay are skipped, so several instances can drain concurrently.
+     *
+     * @param limit maximum number of entries to lock
+     * @return the locked entries in insertion order
+     */
+    @Query(value = """
+            SELECT * FROM order_outbox
+            WHERE failed_at IS NULL
+            ORDER BY id
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<OutboxEvent> lockNextBatch(@Param("limit") int limit);
+}
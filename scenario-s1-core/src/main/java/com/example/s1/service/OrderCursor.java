@@ -0,0 +1,56 @@
+package com.example.s1.service;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Position of the last order returned by a keyset scroll.
+ * Encoded as an opaque URL-safe token so clients cannot depend on its structure.
+ *
+ * @param createdAt creation time of the last returned order
+ * @param id        ID of the last returned order (tie-breaker)
+ */
+public record OrderCursor(Instant createdAt, UUID id) {
+
+    private static final int ENCODED_BYTES = Long.BYTES + Integer.BYTES + 2 * Long.BYTES;
+
+    /**
+     * Encodes this cursor as a continuation token.
+     *
+     * @return the opaque token
+     */
+    public String encode() {
+        ByteBuffer buffer = ByteBuffer.allocate(ENCODED_BYTES)
+            .putLong(createdAt.getEpochSecond())
+            .putInt(createdAt.getNano())
+            .putLong(id.getMostSignificantBits())
+            .putLong(id.getLeastSignificantBits());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array());
+    }
+
+    /**
+     * Decodes a continuation token.
+     *
+     * @param token the opaque token
+     * @return the cursor
+     * @throws IllegalArgumentException if the token is malformed
+     */
+    public static OrderCursor decode(String token) {
+        byte[] bytes = Base64.getUrlDecoder().decode(token);
+        if (bytes.length != ENCODED_BYTES) {
+            throw new IllegalArgumentException("Invalid order cursor");
+        }
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            Instant createdAt = Instant.ofEpochSecond(buffer.getLong(), buffer.getInt());
+            UUID id = new UUID(buffer.getLong(), buffer.getLong());
+            return new OrderCursor(createdAt, id);
+        } catch (DateTimeException | BufferUnderflowException e) {
+            throw new IllegalArgumentException("Invalid order cursor", e);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.s1.service;
+
+import com.example.s1.domain.Order;
+import com.example.tc.dto.CreateOrderRequest;
+import com.example.tc.dto.OrderResponse;
+import com.example.tc.util.UuidStrategy;
+
+/**
+ * Maps between order requests, entities and responses.
+ * Stateless, so the request path and its benchmarks share the same code.
+ */
+public final class OrderMapper {
+
+    private OrderMapper() {
+    }
+
+    /**
+     * Builds a new order entity from a creation request.
+     *
+     * @param request    the order creation request
+     * @param idStrategy how to generate the primary key
+     * @return the unsaved order
+     */
+    public static Order toOrder(CreateOrderRequest request, UuidStrategy idStrategy) {
+        Order order = new Order(idStrategy.next());
+        order.setCustomerName(request.customerName());
+        order.setProductName(request.productName());
+        order.setQuantity(request.quantity());
+        order.setAmount(request.amount());
+        return order;
+    }
+
+    /**
+     * Maps an order entity to its API response.
+     *
+     * @param order the order
+     * @return the response
+     */
+    public static OrderResponse toResponse(Order order) {
+        return new OrderResponse(
+            order.getId(),
+            order.getCustomerName(),
+            order.getProductName(),
+            order.getQuantity(),
+            order.getAmount(),
+            order.getStatus().name(),
+            order.getCreatedAt(),
+            order.getUpdatedAt()
+        );
+    }
+}
@@ -1,18 +1,38 @@
 package com.example.s1.service;
 
+import com.example.s1.config.CacheConfig;
 import com.example.s1.domain.Order;
 import com.example.s1.domain.OrderStatus;
-import com.example.s1.messaging.OrderEventPublisher;
+import com.example.s1.messaging.OrderOutbox;
 import com.example.s1.repository.OrderRepository;
+import com.example.s1.service.dto.OrderSlice;
+import com.example.s1.service.dto.OrderStatusSummary;
 import com.example.tc.dto.CreateOrderRequest;
 import com.example.tc.dto.OrderResponse;
+import com.example.tc.util.UuidStrategy;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 /**
  * Application service for Order operations.
@@ -23,43 +43,76 @@ import java.util.UUID;
 public class OrderService {
 
     private final OrderRepository orderRepository;
-    private final OrderEventPublisher orderEventPublisher;
+    private final OrderOutbox orderOutbox;
+    private final OrderStatusCounters orderStatusCounters;
+    private final EntityManager entityManager;
+    private final ObjectWriter exportWriter;
+    private final UuidStrategy idStrategy;
 
-    public OrderService(OrderRepository orderRepository, OrderEventPublisher orderEventPublisher) {
+    public OrderService(OrderRepository orderRepository,
+                        OrderOutbox orderOutbox,
+                        OrderStatusCounters orderStatusCounters,
+                        EntityManager entityManager,
+                        ObjectMapper objectMapper,
+                        @Value("${app.orders.id-strategy:time-ordered}") UuidStrategy idStrategy) {
         this.orderRepository = orderRepository;
-        this.orderEventPublisher = orderEventPublisher;
+        this.orderOutbox = orderOutbox;
+        this.orderStatusCounters = orderStatusCounters;
+        this.entityManager = entityManager;
+        // Flush only when the generator buffer fills, not after every line
+        this.exportWriter = objectMapper.writerFor(OrderResponse.class)
+            .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.idStrategy = idStrategy;
     }
 
     /**
      * Creates a new order.
+     * The order created event is written to the outbox in the same transaction
+     * and relayed to RabbitMQ asynchronously.
      *
      * @param request the order creation request
      * @return the created order response
      */
+    @CachePut(cacheNames = CacheConfig.ORDERS_CACHE, key = "#result.id()")
     public OrderResponse createOrder(CreateOrderRequest request) {
-        Order order = new Order();
-        order.setCustomerName(request.customerName());
-        order.setProductName(request.productName());
-        order.setQuantity(request.quantity());
-        order.setAmount(request.amount());
+        Order saved = orderRepository.save(toOrder(request));
 
-        Order saved = orderRepository.save(order);
+        // Record order created event in the outbox
+        orderOutbox.recordOrderCreated(saved);
+        orderStatusCounters.recordCreated(1);
 
-        // Publish order created event
-        orderEventPublisher.publishOrderCreated(saved);
+        return OrderMapper.toResponse(saved);
+    }
+
+    /**
+     * Creates a batch of orders in one transaction.
+     * Orders and their outbox events are flushed as JDBC batches.
+     *
+     * @param requests the order creation requests
+     * @return the created order responses, in request order
+     */
+    public List<OrderResponse> createOrders(List<CreateOrderRequest> requests) {
+        List<Order> saved = orderRepository.saveAll(requests.stream().map(this::toOrder).toList());
 
-        return toResponse(saved);
+        // Record order created events in the outbox
+        orderOutbox.recordOrdersCreated(saved);
+        orderStatusCounters.recordCreated(saved.size());
+
+        return saved.stream().map(OrderMapper::toResponse).toList();
     }
 
     /**
      * Finds an order by ID.
+     * Served from the in-process order cache when possible; misses are not cached.
      *
      * @param id the order ID
      * @return the order if found
      */
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.ORDERS_CACHE, cacheResolver = CacheConfig.READ_THROUGH_CACHE_RESOLVER,
+        unless = "#result == null")
     public Optional<OrderResponse> findById(UUID id) {
-        return orderRepository.findById(id).map(this::toResponse);
+        return orderRepository.findById(id).map(OrderMapper::toResponse);
     }
 
     /**
@@ -77,33 +130,122 @@ public class OrderService {
         } else {
             orders = orderRepository.findAll(pageable);
         }
-        return orders.map(this::toResponse);
+        return orders.map(OrderMapper::toResponse);
+    }
+
+    /**
+     * Scrolls orders newest first using keyset pagination on (created_at, id).
+     * Each window costs one index range scan regardless of depth, and no count query is issued.
+     *
+     * @param status optional status filter
+     * @param cursor continuation token from the previous window, or null for the first window
+     * @param size   maximum number of orders in the window
+     * @return the window and the token for the next one
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    @Transactional(readOnly = true)
+    public OrderSlice scrollOrders(OrderStatus status, String cursor, int size) {
+        // Fetch one extra row to learn whether another window follows
+        int limit = size + 1;
+        List<Order> orders;
+        if (cursor == null) {
+            orders = status != null
+                ? orderRepository.findFirstWindowByStatus(status.name(), limit)
+                : orderRepository.findFirstWindow(limit);
+        } else {
+            OrderCursor position = OrderCursor.decode(cursor);
+            orders = status != null
+                ? orderRepository.findWindowByStatusAfter(status.name(), position.createdAt(), position.id(), limit)
+                : orderRepository.findWindowAfter(position.createdAt(), position.id(), limit);
+        }
+
+        String nextCursor = null;
+        if (orders.size() > size) {
+            orders = orders.subList(0, size);
+            Order last = orders.get(size - 1);
+            nextCursor = new OrderCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+        return new OrderSlice(orders.stream().map(OrderMapper::toResponse).toList(), nextCursor);
+    }
+
+    /**
+     * Writes matching orders to the output stream as newline-delimited JSON, oldest first.
+     * Rows are streamed from a database cursor and detached once written, so memory use
+     * does not grow with the number of exported orders.
+     *
+     * @param status optional status filter
+     * @param from   optional inclusive lower bound on created_at
+     * @param to     optional exclusive upper bound on created_at
+     * @param out    the stream to write to; left open
+     * @return number of orders written
+     * @throws UncheckedIOException if writing to the output stream fails
+     */
+    @Transactional(readOnly = true)
+    public long exportOrders(OrderStatus status, Instant from, Instant to, OutputStream out) {
+        long written = 0;
+        try (Stream<Order> orders = orderRepository.streamForExport(status, from, to);
+             JsonGenerator generator = exportWriter.createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            for (Order order : (Iterable<Order>) orders::iterator) {
+                exportWriter.writeValue(generator, OrderMapper.toResponse(order));
+                generator.writeRaw('\n');
+                entityManager.detach(order);
+                written++;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return written;
     }
 
     /**
      * Confirms an order.
+     * The transition is a single conditional UPDATE, so it is safe to race with the consumer.
      *
      * @param id the order ID
      * @return the updated order response
+     * @throws IllegalStateException if the order is not in PENDING status
      */
+    @CacheEvict(cacheNames = CacheConfig.ORDERS_CACHE, key = "#id")
     public Optional<OrderResponse> confirmOrder(UUID id) {
-        return orderRepository.findById(id)
-            .map(order -> {
-                order.confirm();
-                return toResponse(orderRepository.save(order));
-            });
+        return transition(id, OrderStatus.PENDING, OrderStatus.CONFIRMED);
+    }
+
+    /**
+     * Cancels an order.
+     * The transition is a single conditional UPDATE, so it is safe to race with the consumer.
+     *
+     * @param id the order ID
+     * @return the updated order response
+     * @throws IllegalStateException if the order is not in PENDING status
+     */
+    @CacheEvict(cacheNames = CacheConfig.ORDERS_CACHE, key = "#id")
+    public Optional<OrderResponse> cancelOrder(UUID id) {
+        return transition(id, OrderStatus.PENDING, OrderStatus.CANCELLED);
+    }
+
+    /**
+     * Gets order counts per status from the incrementally maintained counters.
+     *
+     * @return the status summary
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public OrderStatusSummary getStatusSummary() {
+        return orderStatusCounters.snapshot();
+    }
+
+    private Optional<OrderResponse> transition(UUID id, OrderStatus from, OrderStatus to) {
+        if (orderRepository.transitionStatus(id, from, to, Instant.now()) == 0) {
+            if (orderRepository.existsById(id)) {
+                throw new IllegalStateException("Can only move orders to " + to + " from " + from + " status");
+            }
+            return Optional.empty();
+        }
+        orderStatusCounters.recordTransition(from, to, 1);
+        return orderRepository.findById(id).map(OrderMapper::toResponse);
     }
 
-    private OrderResponse toResponse(Order order) {
-        return new OrderResponse(
-            order.getId(),
-            order.getCustomerName(),
-            order.getProductName(),
-            order.getQuantity(),
-            order.getAmount(),
-            order.getStatus().name(),
-            order.getCreatedAt(),
-            order.getUpdatedAt()
-        );
+    private Order toOrder(CreateOrderRequest request) {
+        return OrderMapper.toOrder(request, idStrategy);
     }
 }
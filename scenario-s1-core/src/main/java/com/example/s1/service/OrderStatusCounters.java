@@ -0,0 +1,108 @@
+package com.example.s1.service;
+
+import com.example.s1.domain.OrderStatus;
+import com.example.s1.repository.OrderRepository;
+import com.example.s1.service.dto.OrderStatusSummary;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory order counts per status.
+ * Counters are adjusted when a status change commits, and periodically reconciled against the
+ * database to absorb changes made by other nodes or outside the application.
+ */
+@Component
+public class OrderStatusCounters {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderStatusCounters.class);
+
+    private final OrderRepository orderRepository;
+    private final Map<OrderStatus, AtomicLong> counts = new EnumMap<>(OrderStatus.class);
+    private volatile Instant reconciledAt;
+
+    public OrderStatusCounters(OrderRepository orderRepository) {
+        this.orderRepository = orderRepository;
+        for (OrderStatus status : OrderStatus.values()) {
+            counts.put(status, new AtomicLong());
+        }
+    }
+
+    /**
+     * Records newly created orders once the current transaction commits.
+     *
+     * @param created number of orders created
+     */
+    public void recordCreated(int created) {
+        afterCommit(() -> counts.get(OrderStatus.PENDING).addAndGet(created));
+    }
+
+    /**
+     * Records status transitions once the current transaction commits.
+     *
+     * @param from        the previous status
+     * @param to          the new status
+     * @param transitions number of orders transitioned
+     */
+    public void recordTransition(OrderStatus from, OrderStatus to, int transitions) {
+        if (transitions <= 0) {
+            return;
+        }
+        afterCommit(() -> {
+            counts.get(from).addAndGet(-transitions);
+            counts.get(to).addAndGet(transitions);
+        });
+    }
+
+    /**
+     * Returns the current counts without touching the database.
+     *
+     * @return counts for every status
+     */
+    public OrderStatusSummary snapshot() {
+        Map<OrderStatus, Long> snapshot = new EnumMap<>(OrderStatus.class);
+        counts.forEach((status, count) -> snapshot.put(status, count.get()));
+        return new OrderStatusSummary(snapshot, reconciledAt);
+    }
+
+    /**
+     * Replaces the counters with a grouped count from the database.
+     * Runs at startup and then every {@code app.orders.status-counters.reconcile-interval-ms}.
+     */
+    @Scheduled(fixedDelayString = "${app.orders.status-counters.reconcile-interval-ms:60000}")
+    public void reconcile() {
+        Map<OrderStatus, Long> fromDb = new EnumMap<>(OrderStatus.class);
+        for (OrderRepository.StatusCount row : orderRepository.countGroupedByStatus()) {
+            fromDb.put(row.getStatus(), row.getCount());
+        }
+        for (OrderStatus status : OrderStatus.values()) {
+            long actual = fromDb.getOrDefault(status, 0L);
+            long previous = counts.get(status).getAndSet(actual);
+            if (previous != actual && reconciledAt != null) {
+                log.debug("Reconciled {} count from {} to {}", status, previous, actual);
+            }
+        }
+        reconciledAt = Instant.now();
+    }
+
+    private static void afterCommit(Runnable update) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            update.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                update.run();
+            }
+        });
+    }
+}
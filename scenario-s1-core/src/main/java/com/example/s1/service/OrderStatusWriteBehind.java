@@ -0,0 +1,271 @@
+package com.example.s1.service;
+
+import com.example.s1.config.CacheConfig;
+import com.example.s1.domain.OrderStatus;
+import com.example.s1.repository.OrderRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * Write-behind buffer for order status transitions.
+ * Repeated transitions of the same order within {@code window-ms} are merged and written as conditional
+ * UPDATEs in one transaction; no order waits longer than {@code max-lag-ms}, and the buffer is flushed on shutdown.
+ * Each submit returns a future that completes once its transition is committed, so callers such as
+ * the order event consumer acknowledge their input only then; a crash before the flush loses nothing
+ * that the broker will not redeliver. Orders that do not end up in the target status fail their
+ * futures with {@link StaleTransitionException}.
+ * Enabled with {@code app.orders.write-behind.enabled=true}.
+ */
+@Component
+@ConditionalOnProperty(name = "app.orders.write-behind.enabled", havingValue = "true")
+public class OrderStatusWriteBehind {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderStatusWriteBehind.class);
+
+    /** Keeps each UPDATE well below the PostgreSQL bind parameter limit. */
+    private static final int MAX_IDS_PER_UPDATE = 1000;
+
+    private final OrderRepository orderRepository;
+    private final OrderStatusCounters orderStatusCounters;
+    private final TransactionTemplate transactionTemplate;
+    private final Cache ordersCache;
+    private final long windowNanos;
+    private final long maxLagNanos;
+    private final Map<UUID, PendingTransition> pending = new ConcurrentHashMap<>();
+
+    private final Counter submitted;
+    private final Counter coalesced;
+    private final Counter written;
+    private final Timer lag;
+
+    public OrderStatusWriteBehind(OrderRepository orderRepository,
+                                  OrderStatusCounters orderStatusCounters,
+                                  TransactionTemplate transactionTemplate,
+                                  CacheManager cacheManager,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${app.orders.write-behind.window-ms:100}") long windowMs,
+                                  @Value("${app.orders.write-behind.max-lag-ms:1000}") long maxLagMs) {
+        this.orderRepository = orderRepository;
+        this.orderStatusCounters = orderStatusCounters;
+        this.transactionTemplate = transactionTemplate;
+        this.ordersCache = cacheManager.getCache(CacheConfig.ORDERS_CACHE);
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMs);
+        this.maxLagNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(windowMs, maxLagMs));
+
+        meterRegistry.gaugeMapSize("orders.write_behind.pending", List.of(), pending);
+        this.submitted = meterRegistry.counter("orders.write_behind.submitted");
+        this.coalesced = meterRegistry.counter("orders.write_behind.coalesced");
+        this.written = meterRegistry.counter("orders.write_behind.written");
+        this.lag = meterRegistry.timer("orders.write_behind.lag");
+    }
+
+    /**
+     * Buffers a status transition.
+     * A repeat of the order's buffered transition, or one continuing from its target status, is merged
+     * into it as a further step; the steps are written in order, so an order already past the first
+     * one still reaches the new target. Any other transition first forces the buffered one to be written.
+     *
+     * @param id   the order ID
+     * @param from the expected current status
+     * @param to   the target status
+     * @return completes once the order is committed in {@code to}, or exceptionally with
+     *         {@link StaleTransitionException} if it is missing or has moved on to another status
+     * @throws IllegalArgumentException if the order lifecycle does not allow {@code from -> to}
+     */
+    public CompletableFuture<Void> submit(UUID id, OrderStatus from, OrderStatus to) {
+        if (!from.canTransitionTo(to)) {
+            throw new IllegalArgumentException("Order status cannot change from " + from + " to " + to);
+        }
+        submitted.increment();
+        CompletableFuture<Void> written = new CompletableFuture<>();
+        while (true) {
+            long now = System.nanoTime();
+            PendingTransition existing = pending.putIfAbsent(id, new PendingTransition(List.of(from, to), now, now, List.of(written)));
+            if (existing == null) {
+                return written;
+            }
+            if (existing.continuesWith(from, to)) {
+                if (pending.replace(id, existing, existing.mergedWith(from, to, now, written))) {
+                    coalesced.increment();
+                    return written;
+                }
+            } else {
+                // Collapsing would skip the check on the state this transition expects
+                flush(transition -> transition == existing);
+            }
+        }
+    }
+
+    /**
+     * Writes transitions that have been quiet for the window or have reached the maximum lag.
+     */
+    @Scheduled(fixedDelayString = "${app.orders.write-behind.window-ms:100}")
+    public void flushDue() {
+        long now = System.nanoTime();
+        flush(entry -> now - entry.lastSubmittedNanos() >= windowNanos
+            || now - entry.firstSubmittedNanos() >= maxLagNanos);
+    }
+
+    /**
+     * Writes every buffered transition.
+     */
+    @PreDestroy
+    public void flushAll() {
+        flush(entry -> true);
+    }
+
+    /**
+     * Returns the number of orders with buffered transitions.
+     *
+     * @return the buffer size
+     */
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    private void flush(Predicate<PendingTransition> due) {
+        Map<List<OrderStatus>, List<UUID>> batches = new HashMap<>();
+        Map<UUID, List<CompletableFuture<Void>>> waiters = new HashMap<>();
+        long now = System.nanoTime();
+        for (Map.Entry<UUID, PendingTransition> entry : pending.entrySet()) {
+            PendingTransition transition = entry.getValue();
+            // remove(key, value) fails if a concurrent submit merged into the entry; it is picked up next round
+            if (due.test(transition) && pending.remove(entry.getKey(), transition)) {
+                batches.computeIfAbsent(transition.path(), k -> new ArrayList<>()).add(entry.getKey());
+                waiters.put(entry.getKey(), transition.waiters());
+                lag.record(now - transition.firstSubmittedNanos(), TimeUnit.NANOSECONDS);
+            }
+        }
+        if (batches.isEmpty()) {
+            return;
+        }
+
+        Set<UUID> stale;
+        try {
+            stale = write(batches);
+        } catch (RuntimeException e) {
+            // Callers requeue their input, so the transitions are submitted again
+            log.error("Failed to write buffered status transitions of {} orders", waiters.size(), e);
+            waiters.values().forEach(futures -> futures.forEach(waiter -> waiter.completeExceptionally(e)));
+            return;
+        }
+        waiters.forEach((id, futures) -> {
+            if (stale.contains(id)) {
+                StaleTransitionException error = new StaleTransitionException(id);
+                futures.forEach(waiter -> waiter.completeExceptionally(error));
+            } else {
+                futures.forEach(waiter -> waiter.complete(null));
+            }
+        });
+    }
+
+    /**
+     * Applies each batch's steps in order in one transaction.
+     *
+     * @return the orders that did not end up in their target status
+     */
+    private Set<UUID> write(Map<List<OrderStatus>, List<UUID>> batches) {
+        return transactionTemplate.execute(status -> {
+            Instant updatedAt = Instant.now();
+            Set<UUID> stale = new HashSet<>();
+            batches.forEach((path, ids) -> {
+                OrderStatus target = path.get(path.size() - 1);
+                int reached = 0;
+                for (int step = 1; step < path.size(); step++) {
+                    reached = update(ids, path.get(step - 1), path.get(step), updatedAt);
+                }
+                if (reached < ids.size()) {
+                    // Orders already in the target status, e.g. from a redelivery, are not stale
+                    Set<UUID> missed = new HashSet<>(ids);
+                    for (int offset = 0; offset < ids.size(); offset += MAX_IDS_PER_UPDATE) {
+                        orderRepository.findIdsInStatus(
+                            ids.subList(offset, Math.min(ids.size(), offset + MAX_IDS_PER_UPDATE)), target)
+                            .forEach(missed::remove);
+                    }
+                    stale.addAll(missed);
+                }
+                // Evictions are applied after commit by the transaction-aware cache
+                ids.forEach(ordersCache::evict);
+            });
+            return stale;
+        });
+    }
+
+    private int update(List<UUID> ids, OrderStatus from, OrderStatus to, Instant updatedAt) {
+        int updated = 0;
+        for (int offset = 0; offset < ids.size(); offset += MAX_IDS_PER_UPDATE) {
+            List<UUID> chunk = ids.subList(offset, Math.min(ids.size(), offset + MAX_IDS_PER_UPDATE));
+            updated += orderRepository.updateStatusIn(chunk, from, to, updatedAt);
+        }
+        orderStatusCounters.recordTransition(from, to, updated);
+        written.increment(updated);
+        log.debug("Wrote {} of {} buffered {} -> {} transitions", updated, ids.size(), from, to);
+        return updated;
+    }
+
+    /**
+     * Thrown through a submit's future when the order was missing, or in a status from which the
+     * buffered steps could not reach the target, so the transition was not applied.
+     */
+    public static class StaleTransitionException extends IllegalStateException {
+
+        public StaleTransitionException(UUID id) {
+            super("Order " + id + " is missing or no longer in an expected status");
+        }
+    }
+
+    /**
+     * A buffered transition: {@code path} starts with the expected status and lists each merged target in order.
+     */
+    private record PendingTransition(List<OrderStatus> path,
+                                     long firstSubmittedNanos, long lastSubmittedNanos,
+                                     List<CompletableFuture<Void>> waiters) {
+
+        /** Whether the transition repeats one of the buffered steps or continues from the last one. */
+        boolean continuesWith(OrderStatus nextFrom, OrderStatus nextTo) {
+            if (nextFrom == path.get(path.size() - 1)) {
+                return true;
+            }
+            for (int step = 1; step < path.size(); step++) {
+                if (path.get(step - 1) == nextFrom && path.get(step) == nextTo) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        PendingTransition mergedWith(OrderStatus nextFrom, OrderStatus nextTo, long now, CompletableFuture<Void> waiter) {
+            List<OrderStatus> steps = new ArrayList<>(path);
+            if (nextFrom == steps.get(steps.size() - 1)) {
+                steps.add(nextTo);
+            }
+            List<CompletableFuture<Void>> merged = new ArrayList<>(waiters);
+            merged.add(waiter);
+            return new PendingTransition(List.copyOf(steps), firstSubmittedNanos, now, merged);
+        }
+    }
+}
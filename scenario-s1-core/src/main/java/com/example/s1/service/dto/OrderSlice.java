@@ -0,0 +1,26 @@
+package com.example.s1.service.dto;
+
+import com.example.tc.dto.OrderResponse;
+
+import java.util.List;
+
+/**
+ * One window of a keyset order scroll.
+ *
+ * @param content    orders in this window, newest first
+ * @param nextCursor continuation token for the next window, or null when there are no more orders
+ */
+public record OrderSlice(
+    List<OrderResponse> content,
+    String nextCursor
+) {
+
+    /**
+     * Whether another window follows this one.
+     *
+     * @return true if {@code nextCursor} is present
+     */
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.s1.service.dto;
+
+import com.example.s1.domain.OrderStatus;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Order counts per status.
+ *
+ * @param counts        number of orders in each status
+ * @param reconciledAt  when the counts were last reconciled against the database
+ */
+public record OrderStatusSummary(
+    Map<OrderStatus, Long> counts,
+    Instant reconciledAt
+) {
+}
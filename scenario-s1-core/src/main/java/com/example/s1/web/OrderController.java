@@ -2,14 +2,22 @@ package com.example.s1.web;
 
 import com.example.s1.domain.OrderStatus;
 import com.example.s1.service.OrderService;
+import com.example.s1.service.dto.OrderSlice;
+import com.example.s1.service.dto.OrderStatusSummary;
 import com.example.tc.dto.CreateOrderRequest;
 import com.example.tc.dto.OrderResponse;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.Instant;
+import java.util.List;
 import java.util.UUID;
 
 /**
@@ -21,9 +29,15 @@ import java.util.UUID;
 public class OrderController {
 
     private final OrderService orderService;
+    private final int maxBatchSize;
+    private final int maxScrollSize;
 
-    public OrderController(OrderService orderService) {
+    public OrderController(OrderService orderService,
+                           @Value("${app.orders.max-batch-size:1000}") int maxBatchSize,
+                           @Value("${app.orders.max-scroll-size:500}") int maxScrollSize) {
         this.orderService = orderService;
+        this.maxBatchSize = maxBatchSize;
+        this.maxScrollSize = maxScrollSize;
     }
 
     /**
@@ -38,6 +52,32 @@ public class OrderController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    /**
+     * Creates a batch of orders.
+     *
+     * @param requests the order creation requests
+     * @return the created orders, or 400 if the batch is empty or exceeds the maximum size
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<List<OrderResponse>> createOrders(@RequestBody List<CreateOrderRequest> requests) {
+        if (requests.isEmpty() || requests.size() > maxBatchSize) {
+            return ResponseEntity.badRequest().build();
+        }
+        List<OrderResponse> responses = orderService.createOrders(requests);
+        return ResponseEntity.status(HttpStatus.CREATED).body(responses);
+    }
+
+    /**
+     * Gets order counts per status.
+     * Served from in-memory counters; no database query is issued.
+     *
+     * @return counts for every status
+     */
+    @GetMapping("/status-summary")
+    public ResponseEntity<OrderStatusSummary> getStatusSummary() {
+        return ResponseEntity.ok(orderService.getStatusSummary());
+    }
+
     /**
      * Gets an order by ID.
      *
@@ -64,4 +104,51 @@ public class OrderController {
             Pageable pageable) {
         return ResponseEntity.ok(orderService.listOrders(status, pageable));
     }
+
+    /**
+     * Scrolls orders newest first with an opaque continuation token.
+     * Prefer this over the page API for large tables: deep windows cost the same as the first.
+     *
+     * @param status optional status filter
+     * @param cursor continuation token from the previous response (omit for the first window)
+     * @param size   window size
+     * @return the window of orders and the next continuation token
+     */
+    @GetMapping("/scroll")
+    public ResponseEntity<OrderSlice> scrollOrders(
+            @RequestParam(required = false) OrderStatus status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        if (size < 1 || size > maxScrollSize) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            return ResponseEntity.ok(orderService.scrollOrders(status, cursor, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Exports orders as newline-delimited JSON, oldest first.
+     * The response is streamed, so the export size is not limited by server memory.
+     *
+     * @param status optional status filter
+     * @param from   optional inclusive lower bound on created_at (ISO-8601)
+     * @param to     optional exclusive upper bound on created_at (ISO-8601)
+     * @return the streaming export, or 400 if the range is empty
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportOrders(
+            @RequestParam(required = false) OrderStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to) {
+        if (from != null && to != null && !from.isBefore(to)) {
+            return ResponseEntity.badRequest().build();
+        }
+        StreamingResponseBody body = out -> orderService.exportOrders(status, from, to, out);
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .body(body);
+    }
 }
@@ -0,0 +1,20 @@
+-- V2__create_order_outbox_table.sql
+-- Creates the transactional outbox for order events (S1 scenario)
+
+CREATE SEQUENCE order_outbox_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE order_outbox (
+    id BIGINT PRIMARY KEY,
+    aggregate_id UUID NOT NULL,
+    routing_key VARCHAR(100) NOT NULL,
+    payload TEXT NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL
+);
+
+-- Add comments
+COMMENT ON TABLE order_outbox IS 'Order events written in the order transaction and relayed to order.exchange';
+COMMENT ON COLUMN order_outbox.id IS 'Outbox entry identifier (sequence, allocation size 50)';
+COMMENT ON COLUMN order_outbox.aggregate_id IS 'Identifier of the order the event belongs to';
+COMMENT ON COLUMN order_outbox.routing_key IS 'Routing key used when publishing to order.exchange';
+COMMENT ON COLUMN order_outbox.payload IS 'Serialized event payload (JSON)';
+COMMENT ON COLUMN order_outbox.created_at IS 'Timestamp when the event was recorded';
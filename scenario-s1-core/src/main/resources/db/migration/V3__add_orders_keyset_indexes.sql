@@ -0,0 +1,11 @@
+-- V3__add_orders_keyset_indexes.sql
+-- Supports keyset (seek) pagination on (created_at, id) for the S1 scenario
+
+-- Index for unfiltered newest-first scrolling
+CREATE INDEX idx_orders_created_at_id ON orders(created_at DESC, id DESC);
+
+-- Covered by idx_orders_created_at_id, which serves every created_at lookup it did
+DROP INDEX idx_orders_created_at;
+
+-- Index for status-filtered newest-first scrolling
+CREATE INDEX idx_orders_status_created_at_id ON orders(status, created_at DESC, id DESC);
@@ -0,0 +1,4 @@
+-- V4__add_orders_version.sql
+-- Optimistic locking version for the S1 scenario orders table
+
+ALTER TABLE orders ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
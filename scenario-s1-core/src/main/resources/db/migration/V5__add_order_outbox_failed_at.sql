@@ -0,0 +1,9 @@
+-- V5__add_order_outbox_failed_at.sql
+-- Parks outbox entries that cannot be relayed (S1 scenario)
+
+ALTER TABLE order_outbox ADD COLUMN failed_at TIMESTAMP WITH TIME ZONE;
+
+-- Index for the relay, which only reads entries that have not failed
+CREATE INDEX idx_order_outbox_pending ON order_outbox(id) WHERE failed_at IS NULL;
+
+COMMENT ON COLUMN order_outbox.failed_at IS 'Timestamp when the entry was parked as unrelayable; NULL while pending';
@@ -0,0 +1,115 @@
+package com.example.s1;
+
+import com.example.tc.base.IntegrationTestBase;
+import com.example.tc.dto.CreateOrderRequest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Load comparison for {@code POST /api/orders} at 1k/5k/10k concurrent clients.
+ * Subclasses select the thread model through the active profiles; each run logs
+ * throughput, error count and heap growth so the two models can be compared side by side.
+ * Tagged {@code performance}; run with {@code ./gradlew :scenario-s1-core:performanceTest}.
+ */
+@Tag("performance")
+abstract class AbstractOrderLoadIT extends IntegrationTestBase {
+
+    private static final int REQUESTS_PER_CLIENT = 5;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Name of the thread model under test, used in the report.
+     *
+     * @return the thread model name
+     */
+    protected abstract String threadModel();
+
+    /**
+     * Hook for reporting thread-model specific diagnostics after a run.
+     */
+    protected void reportDiagnostics() {
+    }
+
+    @ParameterizedTest(name = "{0} concurrent clients")
+    @ValueSource(ints = {1_000, 5_000, 10_000})
+    void shouldSustainConcurrentOrderCreation(int clients) throws Exception {
+        // Given
+        byte[] body = objectMapper.writeValueAsBytes(CreateOrderRequest.sample());
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/orders"))
+            .header("Content-Type", "application/json")
+            .timeout(Duration.ofSeconds(60))
+            .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+            .build();
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        System.gc();
+        long heapBefore = memory.getHeapMemoryUsage().getUsed();
+
+        AtomicInteger created = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+
+        // When
+        long elapsedNanos;
+        try (HttpClient client = HttpClient.newBuilder().executor(Executors.newVirtualThreadPerTaskExecutor()).build();
+             ExecutorService clientThreads = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> futures = new ArrayList<>(clients);
+            for (int i = 0; i < clients; i++) {
+                futures.add(clientThreads.submit(() -> {
+                    start.await();
+                    for (int r = 0; r < REQUESTS_PER_CLIENT; r++) {
+                        try {
+                            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            (response.statusCode() == 201 ? created : failed).incrementAndGet();
+                        } catch (Exception e) {
+                            failed.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            long startNanos = System.nanoTime();
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            elapsedNanos = System.nanoTime() - startNanos;
+        }
+        long heapAfter = memory.getHeapMemoryUsage().getUsed();
+
+        // Then
+        double seconds = elapsedNanos / 1_000_000_000.0;
+        log.info("[{}] {} clients: {} created, {} failed, {} req/s, heap +{} MB, {} live threads",
+            threadModel(), clients, created.get(), failed.get(),
+            String.format("%.0f", created.get() / seconds),
+            (heapAfter - heapBefore) / (1024 * 1024),
+            ManagementFactory.getThreadMXBean().getThreadCount());
+        reportDiagnostics();
+        assertThat(created.get() + failed.get()).isEqualTo(clients * REQUESTS_PER_CLIENT);
+    }
+}
@@ -13,9 +13,13 @@ import org.springframework.context.annotation.Import;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.util.Base64;
+import java.util.List;
 import java.util.UUID;
 
 import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.*;
 
 /**
@@ -65,6 +69,39 @@ class OrderApiIT extends IntegrationTestBase {
             .body("status", equalTo(OrderStatus.PENDING.name()));
     }
 
+    @Test
+    void shouldCreateOrdersInBatch() {
+        // Given
+        List<CreateOrderRequest> requests = List.of(
+            CreateOrderRequest.of("批次客戶 A", "商品 A", 1, new BigDecimal("10.00")),
+            CreateOrderRequest.of("批次客戶 B", "商品 B", 2, new BigDecimal("20.00")),
+            CreateOrderRequest.of("批次客戶 C", "商品 C", 3, new BigDecimal("30.00"))
+        );
+
+        // When & Then
+        given()
+            .contentType(ContentType.JSON)
+            .body(requests)
+        .when()
+            .post("/batch")
+        .then()
+            .statusCode(201)
+            .body("size()", equalTo(3))
+            .body("customerName", contains("批次客戶 A", "批次客戶 B", "批次客戶 C"))
+            .body("status", everyItem(equalTo(OrderStatus.PENDING.name())));
+    }
+
+    @Test
+    void shouldRejectEmptyBatch() {
+        given()
+            .contentType(ContentType.JSON)
+            .body(List.of())
+        .when()
+            .post("/batch")
+        .then()
+            .statusCode(400);
+    }
+
     @Test
     void shouldGetOrderById() {
         // Given - Create an order first
@@ -144,4 +181,104 @@ class OrderApiIT extends IntegrationTestBase {
             .statusCode(200)
             .body("content.findAll { it.status == 'PENDING' }.size()", greaterThanOrEqualTo(1));
     }
+
+    @Test
+    void shouldScrollOrdersWithContinuationToken() {
+        // Given - Create enough orders for two windows
+        for (int i = 0; i < 3; i++) {
+            given()
+                .contentType(ContentType.JSON)
+                .body(CreateOrderRequest.sample())
+            .when()
+                .post()
+            .then()
+                .statusCode(201);
+        }
+
+        // When - First window
+        String nextCursor = given()
+            .queryParam("size", 2)
+        .when()
+            .get("/scroll")
+        .then()
+            .statusCode(200)
+            .body("content.size()", equalTo(2))
+            .body("nextCursor", notNullValue())
+            .body("totalElements", nullValue())
+            .extract()
+            .path("nextCursor");
+
+        // Then - Second window continues after the first
+        given()
+            .queryParam("size", 2)
+            .queryParam("cursor", nextCursor)
+        .when()
+            .get("/scroll")
+        .then()
+            .statusCode(200)
+            .body("content", not(empty()));
+    }
+
+    @Test
+    void shouldRejectMalformedScrollCursor() {
+        given()
+            .queryParam("cursor", "not-a-cursor")
+        .when()
+            .get("/scroll")
+        .then()
+            .statusCode(400);
+    }
+
+    @Test
+    void shouldRejectScrollCursorWithOutOfRangeTimestamp() {
+        // Given - 長度正確但秒數超出 Instant 範圍的 token
+        byte[] bytes = ByteBuffer.allocate(28).putLong(Long.MAX_VALUE).array();
+        String cursor = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        given()
+            .queryParam("cursor", cursor)
+        .when()
+            .get("/scroll")
+        .then()
+            .statusCode(400);
+    }
+
+    @Test
+    void shouldExportOrdersAsNdjson() {
+        // Given
+        given()
+            .contentType(ContentType.JSON)
+            .body(List.of(CreateOrderRequest.sample(), CreateOrderRequest.sample()))
+        .when()
+            .post("/batch")
+        .then()
+            .statusCode(201);
+
+        // When
+        String body = given()
+        .when()
+            .get("/export")
+        .then()
+            .statusCode(200)
+            .contentType(containsString("application/x-ndjson"))
+            .extract()
+            .asString();
+
+        // Then - 每行一筆訂單 JSON
+        List<String> lines = body.lines().toList();
+        assertThat(lines).hasSizeGreaterThanOrEqualTo(2);
+        assertThat(lines).allSatisfy(line ->
+            assertThat(line).startsWith("{\"id\":"));
+    }
+
+    @Test
+    void shouldRejectEmptyExportRange() {
+        given()
+            .queryParam("from", "2024-01-02T00:00:00Z")
+            .queryParam("to", "2024-01-01T00:00:00Z")
+        .when()
+            .get("/export")
+        .then()
+            .statusCode(400);
+    }
 }
@@ -0,0 +1,88 @@
+package com.example.s1;
+
+import com.example.s1.domain.Order;
+import com.example.s1.domain.OrderStatus;
+import com.example.s1.messaging.OrderEventPublisher;
+import com.example.s1.repository.OrderRepository;
+import com.example.tc.base.IntegrationTestBase;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Integration tests for batch consumption of order events.
+ *
+ * Given 啟用批次消費模式
+ * When 多筆訂單建立事件同時到達
+ * Then 以單一 UPDATE 確認整批訂單並一次 ack
+ */
+@SpringBootTest(properties = {
+    "app.orders.consumer.batch-enabled=true",
+    "app.orders.consumer.batch-size=10"
+})
+@Import(S1TestApplication.class)
+@ActiveProfiles("test")
+class OrderBatchConsumerIT extends IntegrationTestBase {
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderEventPublisher orderEventPublisher;
+
+    @Test
+    void shouldConfirmOrdersDeliveredInBatch() {
+        // Given
+        List<Order> orders = IntStream.range(0, 25)
+            .mapToObj(i -> createAndSaveOrder())
+            .toList();
+
+        // When
+        orders.forEach(orderEventPublisher::publishOrderCreated);
+
+        // Then
+        await().atMost(10, TimeUnit.SECONDS)
+            .untilAsserted(() -> assertThat(orderRepository.findAllById(orders.stream().map(Order::getId).toList()))
+                .extracting(Order::getStatus)
+                .containsOnly(OrderStatus.CONFIRMED));
+    }
+
+    @Test
+    void shouldIgnoreOrdersThatAreNoLongerPending() {
+        // Given
+        Order cancelled = createAndSaveOrder();
+        cancelled.cancel();
+        orderRepository.save(cancelled);
+        Order pending = createAndSaveOrder();
+
+        // When
+        orderEventPublisher.publishOrderCreated(cancelled);
+        orderEventPublisher.publishOrderCreated(pending);
+
+        // Then
+        await().atMost(10, TimeUnit.SECONDS)
+            .untilAsserted(() -> assertThat(orderRepository.findById(pending.getId()).orElseThrow().getStatus())
+                .isEqualTo(OrderStatus.CONFIRMED));
+        assertThat(orderRepository.findById(cancelled.getId()).orElseThrow().getStatus())
+            .isEqualTo(OrderStatus.CANCELLED);
+    }
+
+    private Order createAndSaveOrder() {
+        Order order = new Order();
+        order.setCustomerName("Batch Customer");
+        order.setProductName("Batch Product");
+        order.setQuantity(1);
+        order.setAmount(new BigDecimal("100.00"));
+        return orderRepository.save(order);
+    }
+}
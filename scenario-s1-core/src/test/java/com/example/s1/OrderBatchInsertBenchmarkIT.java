@@ -0,0 +1,80 @@
+package com.example.s1;
+
+import com.example.s1.repository.OrderRepository;
+import com.example.s1.service.OrderService;
+import com.example.tc.base.IntegrationTestBase;
+import com.example.tc.dto.CreateOrderRequest;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Throughput comparison between single-order and batch order creation.
+ * Tagged {@code performance}; run with {@code ./gradlew :scenario-s1-core:performanceTest}.
+ *
+ * Given 相同數量的訂單
+ * When 分別以單筆與批次路徑寫入
+ * Then 輸出兩種路徑的 rows/sec
+ */
+@SpringBootTest
+@Import(S1TestApplication.class)
+@ActiveProfiles("test")
+@Tag("performance")
+class OrderBatchInsertBenchmarkIT extends IntegrationTestBase {
+
+    private static final int ORDER_COUNT = 20_000;
+    private static final int BATCH_SIZE = 500;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Test
+    void shouldCompareSingleAndBatchInsertThroughput() {
+        // Warm up both paths
+        insertSingle(1_000);
+        insertBatch(1_000);
+
+        // When
+        long countBefore = orderRepository.count();
+        double singleRowsPerSecond = measure(() -> insertSingle(ORDER_COUNT));
+        double batchRowsPerSecond = measure(() -> insertBatch(ORDER_COUNT));
+
+        // Then
+        log.info("Single-order path: {} rows/sec", String.format("%.0f", singleRowsPerSecond));
+        log.info("Batch path (size {}): {} rows/sec", BATCH_SIZE, String.format("%.0f", batchRowsPerSecond));
+        assertThat(orderRepository.count()).isEqualTo(countBefore + 2L * ORDER_COUNT);
+    }
+
+    private double measure(Runnable insert) {
+        long start = System.nanoTime();
+        insert.run();
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        return ORDER_COUNT / seconds;
+    }
+
+    private void insertSingle(int count) {
+        for (int i = 0; i < count; i++) {
+            orderService.createOrder(CreateOrderRequest.sample());
+        }
+    }
+
+    private void insertBatch(int count) {
+        for (int offset = 0; offset < count; offset += BATCH_SIZE) {
+            List<CreateOrderRequest> batch = IntStream.range(0, Math.min(BATCH_SIZE, count - offset))
+                .mapToObj(i -> CreateOrderRequest.sample())
+                .toList();
+            orderService.createOrders(batch);
+        }
+    }
+}
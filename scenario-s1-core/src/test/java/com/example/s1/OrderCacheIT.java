@@ -0,0 +1,123 @@
+package com.example.s1;
+
+import com.example.s1.config.CacheConfig;
+import com.example.s1.domain.OrderStatus;
+import com.example.s1.service.OrderService;
+import com.example.tc.base.IntegrationTestBase;
+import com.example.tc.dto.CreateOrderRequest;
+import com.example.tc.dto.OrderResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Integration tests for the in-process order cache.
+ *
+ * Given 訂單建立後被頻繁查詢狀態
+ * When 透過 OrderService.findById 讀取
+ * Then 由記憶體快取回應，並在訂單確認時失效
+ */
+@SpringBootTest
+@Import(S1TestApplication.class)
+@ActiveProfiles("test")
+class OrderCacheIT extends IntegrationTestBase {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void shouldServeCreatedOrderFromCache() {
+        // Given
+        OrderResponse created = orderService.createOrder(CreateOrderRequest.sample());
+        double hitsBefore = cacheGets("hit");
+
+        // When
+        orderService.findById(created.id());
+
+        // Then
+        assertThat(ordersCache().get(created.id())).isNotNull();
+        assertThat(cacheGets("hit")).isGreaterThan(hitsBefore);
+    }
+
+    @Test
+    void shouldNotCacheMissingOrder() {
+        // Given
+        UUID missing = UUID.randomUUID();
+
+        // When
+        assertThat(orderService.findById(missing)).isEmpty();
+
+        // Then
+        assertThat(ordersCache().get(missing)).isNull();
+    }
+
+    @Test
+    void shouldFillCacheBeforeSurroundingTransactionCommits() {
+        // Given
+        OrderResponse created = orderService.createOrder(CreateOrderRequest.sample());
+        ordersCache().evict(created.id());
+
+        // When - 讀取回填不延後到交易提交，避免晚於並發更新的失效而留下舊值
+        boolean cachedInsideTransaction = Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+            orderService.findById(created.id());
+            return ordersCache().get(created.id()) != null;
+        }));
+
+        // Then
+        assertThat(cachedInsideTransaction).isTrue();
+    }
+
+    @Test
+    void shouldEvictWhenConsumerConfirmsOrder() {
+        // Given
+        OrderResponse created = orderService.createOrder(CreateOrderRequest.sample());
+
+        // Then - 消費者確認後快取失效，再次讀取得到 CONFIRMED
+        await().atMost(10, TimeUnit.SECONDS)
+            .untilAsserted(() -> assertThat(orderService.findById(created.id()).orElseThrow().status())
+                .isEqualTo(OrderStatus.CONFIRMED.name()));
+    }
+
+    @Test
+    void shouldBindCacheMetricsOnce() {
+        // When
+        var counters = meterRegistry.find("cache.gets")
+            .tags("cache", CacheConfig.ORDERS_CACHE, "result", "hit")
+            .functionCounters();
+
+        // Then - 讀取與寫入共用同一組快取，只註冊一次
+        assertThat(counters).hasSize(1);
+    }
+
+    private Cache ordersCache() {
+        return cacheManager.getCache(CacheConfig.ORDERS_CACHE);
+    }
+
+    private double cacheGets(String result) {
+        var counter = meterRegistry.find("cache.gets")
+            .tags("cache", CacheConfig.ORDERS_CACHE, "result", result)
+            .functionCounter();
+        return counter != null ? counter.count() : 0;
+    }
+}
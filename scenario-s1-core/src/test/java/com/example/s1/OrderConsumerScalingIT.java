@@ -0,0 +1,73 @@
+package com.example.s1;
+
+import com.example.s1.messaging.OrderConsumerScaler;
+import com.example.s1.messaging.OrderEventConsumer;
+import com.example.tc.base.IntegrationTestBase;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.rabbit.listener.RabbitListenerEndpointRegistry;
+import org.springframework.amqp.rabbit.listener.SimpleMessageListenerContainer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Integration tests for adaptive consumer scaling.
+ * The scheduled sampling is slowed down so the test drives the queue depth explicitly;
+ * other cached contexts also consume order.created.queue, so the real depth is not deterministic.
+ *
+ * Given 啟用依佇列深度調整消費者數量
+ * When order.created.queue 深度上升
+ * Then 消費者數量增加至上限，佇列清空後逐步回到下限
+ */
+@SpringBootTest(properties = {
+    "app.orders.consumer.adaptive.enabled=true",
+    "app.orders.consumer.adaptive.interval-ms=3600000",
+    "app.orders.consumer.adaptive.messages-per-consumer=10",
+    "app.orders.consumer.min-consumers=1",
+    "app.orders.consumer.max-consumers=4"
+})
+@Import(S1TestApplication.class)
+@ActiveProfiles("test")
+@DirtiesContext
+class OrderConsumerScalingIT extends IntegrationTestBase {
+
+    @Autowired
+    private OrderConsumerScaler orderConsumerScaler;
+
+    @Autowired
+    private RabbitListenerEndpointRegistry listenerRegistry;
+
+    @Test
+    void shouldScaleConsumersWithQueueDepth() {
+        // Given
+        SimpleMessageListenerContainer container = (SimpleMessageListenerContainer)
+            listenerRegistry.getListenerContainer(OrderEventConsumer.LISTENER_ID);
+
+        // When - Backlog of 100 messages needs 10 consumers, capped at 4
+        int target = orderConsumerScaler.scaleFor(100);
+
+        // Then - 容器上限與目標一致，內建擴縮不會另外增減
+        assertThat(target).isEqualTo(4);
+        assertThat(ReflectionTestUtils.getField(container, "maxConcurrentConsumers")).isEqualTo(4);
+        await().atMost(10, TimeUnit.SECONDS)
+            .untilAsserted(() -> assertThat(container.getActiveConsumerCount()).isEqualTo(4));
+
+        // When - Backlog drained, consumers are removed one step at a time
+        assertThat(orderConsumerScaler.scaleFor(0)).isEqualTo(3);
+        assertThat(orderConsumerScaler.scaleFor(0)).isEqualTo(2);
+        assertThat(orderConsumerScaler.scaleFor(0)).isEqualTo(1);
+
+        // Then
+        await().atMost(10, TimeUnit.SECONDS)
+            .untilAsserted(() -> assertThat(container.getActiveConsumerCount()).isEqualTo(1));
+        assertThat(ReflectionTestUtils.getField(container, "maxConcurrentConsumers")).isEqualTo(1);
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.s1;
+
+import com.example.s1.service.OrderCursor;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for scroll continuation tokens.
+ * Malformed tokens are client input and must fail as {@link IllegalArgumentException}.
+ */
+class OrderCursorTest {
+
+    @Test
+    void cursor_shouldRoundTrip() {
+        OrderCursor cursor = new OrderCursor(Instant.ofEpochSecond(1_700_000_000L, 123_456_789), UUID.randomUUID());
+
+        assertThat(OrderCursor.decode(cursor.encode())).isEqualTo(cursor);
+    }
+
+    @Test
+    void decode_shouldRejectWrongLength() {
+        assertThatThrownBy(() -> OrderCursor.decode("not-a-cursor"))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void decode_shouldRejectOutOfRangeTimestamp() {
+        // Given - 長度正確但秒數超出 Instant 範圍
+        byte[] bytes = ByteBuffer.allocate(28).putLong(Long.MAX_VALUE).array();
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        // When / Then
+        assertThatThrownBy(() -> OrderCursor.decode(token))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("Invalid order cursor");
+    }
+}
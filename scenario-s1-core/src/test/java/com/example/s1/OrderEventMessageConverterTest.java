@@ -0,0 +1,94 @@
+package com.example.s1;
+
+import com.example.s1.config.RabbitMqConfig;
+import com.example.s1.messaging.OrderCreatedEvent;
+import com.example.s1.messaging.OrderEventBinaryMessageConverter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.MessageConversionException;
+import org.springframework.amqp.support.converter.MessageConverter;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for order event message conversion.
+ * Verifies the binary layout round trip and content-type negotiation between JSON and binary.
+ */
+class OrderEventMessageConverterTest {
+
+    private static final OrderCreatedEvent EVENT = new OrderCreatedEvent(
+        UUID.randomUUID(),
+        "金控客戶",
+        new BigDecimal("25000.50"),
+        Instant.ofEpochMilli(1_700_000_000_123L)
+    );
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+        .findAndRegisterModules()
+        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    @Test
+    void binaryConverter_shouldRoundTripEvent() {
+        // Given
+        OrderEventBinaryMessageConverter converter = new OrderEventBinaryMessageConverter();
+
+        // When
+        Message message = converter.toMessage(EVENT, new MessageProperties());
+        Object decoded = converter.fromMessage(message);
+
+        // Then
+        assertThat(message.getMessageProperties().getContentType())
+            .isEqualTo(OrderEventBinaryMessageConverter.CONTENT_TYPE);
+        assertThat(message.getBody()).hasSize(36 + "金控客戶".getBytes(StandardCharsets.UTF_8).length);
+        assertThat(decoded).isEqualTo(EVENT);
+    }
+
+    @Test
+    void binaryConverter_shouldRejectUnsupportedPayload() {
+        OrderEventBinaryMessageConverter converter = new OrderEventBinaryMessageConverter();
+
+        assertThatThrownBy(() -> converter.toMessage("not an event", new MessageProperties()))
+            .isInstanceOf(MessageConversionException.class);
+    }
+
+    @Test
+    void binaryConverter_shouldRejectAmountScaleOutsideByteRange() {
+        // Given - scale 200 would wrap to -56 in one byte
+        OrderEventBinaryMessageConverter converter = new OrderEventBinaryMessageConverter();
+        OrderCreatedEvent event = new OrderCreatedEvent(
+            UUID.randomUUID(), "客戶", BigDecimal.valueOf(1, 200), Instant.ofEpochMilli(1_700_000_000_123L));
+
+        assertThatThrownBy(() -> converter.toMessage(event, new MessageProperties()))
+            .isInstanceOf(MessageConversionException.class)
+            .hasMessageContaining("scale");
+    }
+
+    @Test
+    void negotiatingConverter_shouldDecodeBothFormats() {
+        // Given - binary outbound, JSON message produced by an older publisher
+        MessageConverter binaryDefault = new RabbitMqConfig().orderMessageConverter(objectMapper, "binary");
+        MessageConverter jsonDefault = new RabbitMqConfig().orderMessageConverter(objectMapper, "json");
+
+        // When
+        Message binaryMessage = binaryDefault.toMessage(EVENT, new MessageProperties());
+        Message jsonMessage = jsonDefault.toMessage(EVENT, new MessageProperties());
+        jsonMessage.getMessageProperties().setInferredArgumentType(OrderCreatedEvent.class);
+
+        // Then
+        assertThat(binaryMessage.getMessageProperties().getContentType())
+            .isEqualTo(OrderEventBinaryMessageConverter.CONTENT_TYPE);
+        assertThat(jsonMessage.getMessageProperties().getContentType())
+            .isEqualTo(MessageProperties.CONTENT_TYPE_JSON);
+        assertThat(jsonDefault.fromMessage(binaryMessage)).isEqualTo(EVENT);
+        assertThat(binaryDefault.fromMessage(jsonMessage)).isEqualTo(EVENT);
+    }
+}
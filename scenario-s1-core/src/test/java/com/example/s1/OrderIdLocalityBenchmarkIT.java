@@ -0,0 +1,102 @@
+package com.example.s1;
+
+import com.example.tc.base.IntegrationTestBase;
+import com.example.tc.util.UuidStrategy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Insert throughput and index size for random versus time-ordered primary keys.
+ * Each strategy fills its own scratch table shaped like {@code orders} with several million rows.
+ * Tagged {@code performance}; run with {@code ./gradlew :scenario-s1-core:performanceTest}.
+ *
+ * Given 相同筆數、相同結構的資料表
+ * When 分別以 UUIDv4 與 UUIDv7 主鍵批次寫入
+ * Then 輸出 rows/sec 與主鍵索引大小，UUIDv7 索引較緊密
+ */
+@SpringBootTest
+@Import(S1TestApplication.class)
+@ActiveProfiles("test")
+@Tag("performance")
+class OrderIdLocalityBenchmarkIT extends IntegrationTestBase {
+
+    private static final int ROW_COUNT = 3_000_000;
+    private static final int BATCH_SIZE = 10_000;
+    private static final int REPORT_EVERY = 500_000;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void dropTables() {
+        for (UuidStrategy strategy : UuidStrategy.values()) {
+            jdbcTemplate.execute("DROP TABLE IF EXISTS " + tableName(strategy));
+        }
+    }
+
+    @Test
+    void shouldCompareRandomAndTimeOrderedKeys() {
+        // When
+        long randomIndexBytes = fill(UuidStrategy.RANDOM);
+        long timeOrderedIndexBytes = fill(UuidStrategy.TIME_ORDERED);
+
+        // Then - 隨機主鍵造成頁分裂，索引明顯較大
+        log.info("Primary key index size: random {} MB, time-ordered {} MB",
+            randomIndexBytes / (1024 * 1024), timeOrderedIndexBytes / (1024 * 1024));
+        assertThat(timeOrderedIndexBytes).isLessThan(randomIndexBytes);
+    }
+
+    private long fill(UuidStrategy strategy) {
+        String table = tableName(strategy);
+        jdbcTemplate.execute("""
+            CREATE TABLE %s (
+                id UUID PRIMARY KEY,
+                customer_name VARCHAR(100) NOT NULL,
+                amount DECIMAL(19, 2) NOT NULL,
+                created_at TIMESTAMP WITH TIME ZONE NOT NULL
+            )
+            """.formatted(table));
+        String sql = "INSERT INTO " + table + " (id, customer_name, amount, created_at) VALUES (?, ?, ?, ?)";
+
+        long start = System.nanoTime();
+        long windowStart = start;
+        for (int inserted = 0; inserted < ROW_COUNT; inserted += BATCH_SIZE) {
+            List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+            Timestamp now = Timestamp.from(Instant.now());
+            for (int i = 0; i < BATCH_SIZE; i++) {
+                batch.add(new Object[] {strategy.next(), "Benchmark Customer", 100, now});
+            }
+            jdbcTemplate.batchUpdate(sql, batch);
+
+            int total = inserted + BATCH_SIZE;
+            if (total % REPORT_EVERY == 0) {
+                long nowNanos = System.nanoTime();
+                log.info("{}: {} rows, last window {} rows/sec", strategy, total,
+                    String.format("%.0f", REPORT_EVERY / ((nowNanos - windowStart) / 1_000_000_000.0)));
+                windowStart = nowNanos;
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        log.info("{}: {} rows/sec overall", strategy, String.format("%.0f", ROW_COUNT / seconds));
+
+        return jdbcTemplate.queryForObject(
+            "SELECT pg_relation_size(?::regclass)", Long.class, table + "_pkey");
+    }
+
+    private static String tableName(UuidStrategy strategy) {
+        return "id_bench_" + strategy.name().toLowerCase();
+    }
+}
@@ -2,10 +2,17 @@ package com.example.s1;
 
 import com.example.s1.domain.Order;
 import com.example.s1.domain.OrderStatus;
+import com.example.s1.messaging.OrderCreatedEvent;
 import com.example.s1.messaging.OrderEventPublisher;
+import com.example.s1.messaging.OutboxEvent;
 import com.example.s1.repository.OrderRepository;
+import com.example.s1.repository.OutboxEventRepository;
+import com.example.s1.service.OrderService;
 import com.example.tc.base.IntegrationTestBase;
+import com.example.tc.dto.CreateOrderRequest;
+import com.example.tc.dto.OrderResponse;
 import org.junit.jupiter.api.Test;
+import org.springframework.amqp.AmqpException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.context.annotation.Import;
@@ -14,9 +21,12 @@ import org.springframework.test.context.ActiveProfiles;
 import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.awaitility.Awaitility.await;
 
 /**
@@ -38,6 +48,12 @@ class OrderMessagingIT extends IntegrationTestBase {
     @Autowired
     private OrderEventPublisher orderEventPublisher;
 
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
     @Test
     void shouldPublishOrderCreatedEvent() {
         // Given
@@ -75,6 +91,69 @@ class OrderMessagingIT extends IntegrationTestBase {
             });
     }
 
+    @Test
+    void shouldRelayOutboxEventForCreatedOrder() {
+        // When - 建立訂單時事件寫入 outbox，由 relay 發佈
+        OrderResponse created = orderService.createOrder(CreateOrderRequest.sample());
+
+        // Then
+        await().atMost(10, TimeUnit.SECONDS)
+            .untilAsserted(() -> {
+                assertThat(orderRepository.findById(created.id()).orElseThrow().getStatus())
+                    .isEqualTo(OrderStatus.CONFIRMED);
+                assertThat(outboxEventRepository.findAll())
+                    .noneMatch(event -> event.getAggregateId().equals(created.id()));
+            });
+    }
+
+    @Test
+    void shouldParkCorruptOutboxEventAndKeepRelaying() {
+        // Given - 無法解析的 outbox 資料排在前面
+        OutboxEvent corrupt = outboxEventRepository.save(
+            new OutboxEvent(UUID.randomUUID(), OrderEventPublisher.ROUTING_KEY_CREATED, "{not json"));
+
+        // When
+        OrderResponse created = orderService.createOrder(CreateOrderRequest.sample());
+
+        // Then - 損壞資料被標記失敗，後續事件照常發佈
+        await().atMost(10, TimeUnit.SECONDS)
+            .untilAsserted(() -> {
+                assertThat(orderRepository.findById(created.id()).orElseThrow().getStatus())
+                    .isEqualTo(OrderStatus.CONFIRMED);
+                assertThat(outboxEventRepository.findById(corrupt.getId()).orElseThrow().getFailedAt())
+                    .isNotNull();
+            });
+    }
+
+    @Test
+    void shouldCompletePublishFutureOnBrokerConfirm() throws Exception {
+        // Given
+        Order order = createAndSaveOrder();
+
+        // When
+        CompletableFuture<Void> confirmed = orderEventPublisher.publishOrderCreatedAsync(order);
+
+        // Then - broker 確認後 future 完成，視窗釋放
+        confirmed.get(5, TimeUnit.SECONDS);
+        await().atMost(5, TimeUnit.SECONDS)
+            .untilAsserted(() -> assertThat(orderEventPublisher.getInFlightCount()).isZero());
+    }
+
+    @Test
+    void shouldFailPublishFutureForUnroutableEvent() {
+        // Given
+        Order order = createAndSaveOrder();
+
+        // When
+        CompletableFuture<Void> result = orderEventPublisher.publishAsync(
+            "order.unroutable", OrderCreatedEvent.from(order));
+
+        // Then - 無佇列綁定，訊息被退回
+        assertThatThrownBy(() -> result.get(5, TimeUnit.SECONDS))
+            .isInstanceOf(ExecutionException.class)
+            .hasCauseInstanceOf(AmqpException.class);
+    }
+
     private Order createAndSaveOrder() {
         Order order = new Order();
         order.setId(UUID.randomUUID());
@@ -0,0 +1,72 @@
+package com.example.s1;
+
+import com.example.s1.messaging.OrderCreatedEvent;
+import com.example.s1.messaging.OrderEventPublisher;
+import com.example.tc.base.IntegrationTestBase;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Confirmed-publish throughput for different in-flight windows.
+ * A window of 1 is equivalent to waiting for each confirm synchronously.
+ * Tagged {@code performance}; run with {@code ./gradlew :scenario-s1-core:performanceTest}.
+ *
+ * Given 相同數量的訂單事件
+ * When 以不同的未確認視窗大小非同步發佈
+ * Then 輸出每種視窗的 events/sec，視窗越大吞吐量越高
+ */
+@SpringBootTest
+@Import(S1TestApplication.class)
+@ActiveProfiles("test")
+@Tag("performance")
+class OrderPublisherThroughputBenchmarkIT extends IntegrationTestBase {
+
+    private static final int EVENT_COUNT = 5_000;
+    private static final int[] WINDOWS = {1, 16, 256};
+
+    @Autowired
+    private RabbitTemplate rabbitTemplate;
+
+    @Test
+    void shouldScaleThroughputWithInFlightWindow() {
+        // Warm up the channel and converter
+        publishAll(new OrderEventPublisher(rabbitTemplate, 256, 5_000), 1_000);
+
+        // When
+        double[] eventsPerSecond = new double[WINDOWS.length];
+        for (int i = 0; i < WINDOWS.length; i++) {
+            OrderEventPublisher publisher = new OrderEventPublisher(rabbitTemplate, WINDOWS[i], 5_000);
+            long start = System.nanoTime();
+            publishAll(publisher, EVENT_COUNT);
+            eventsPerSecond[i] = EVENT_COUNT / ((System.nanoTime() - start) / 1_000_000_000.0);
+            log.info("Window {}: {} confirmed events/sec", WINDOWS[i], String.format("%.0f", eventsPerSecond[i]));
+        }
+
+        // Then
+        assertThat(eventsPerSecond[WINDOWS.length - 1]).isGreaterThan(eventsPerSecond[0]);
+    }
+
+    private void publishAll(OrderEventPublisher publisher, int count) {
+        List<CompletableFuture<Void>> confirms = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            OrderCreatedEvent event = new OrderCreatedEvent(
+                UUID.randomUUID(), "Benchmark Customer", new BigDecimal("10.00"), Instant.now());
+            confirms.add(publisher.publishAsync(OrderEventPublisher.ROUTING_KEY_CREATED, event));
+        }
+        CompletableFuture.allOf(confirms.toArray(CompletableFuture[]::new)).join();
+    }
+}
@@ -9,11 +9,14 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.context.annotation.Import;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -33,6 +36,9 @@ class OrderRepositoryIT extends IntegrationTestBase {
     @Autowired
     private OrderRepository orderRepository;
 
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
     @Test
     void shouldSaveAndFindOrder() {
         // Given
@@ -83,6 +89,45 @@ class OrderRepositoryIT extends IntegrationTestBase {
         assertThat(updated.getUpdatedAt()).isAfterOrEqualTo(saved.getCreatedAt());
     }
 
+    @Test
+    void shouldTransitionStatusOnlyOnceUnderConcurrency() {
+        // Given
+        Order saved = orderRepository.save(createTestOrder());
+
+        // When - 兩個交易同時嘗試確認同一筆訂單
+        List<CompletableFuture<Integer>> attempts = List.of(
+            CompletableFuture.supplyAsync(() -> confirm(saved.getId())),
+            CompletableFuture.supplyAsync(() -> confirm(saved.getId())));
+
+        // Then - 僅一個成功，版本遞增一次
+        int transitioned = attempts.stream().mapToInt(CompletableFuture::join).sum();
+        assertThat(transitioned).isEqualTo(1);
+        Order updated = orderRepository.findById(saved.getId()).orElseThrow();
+        assertThat(updated.getStatus()).isEqualTo(OrderStatus.CONFIRMED);
+        assertThat(updated.getVersion()).isEqualTo(saved.getVersion() + 1);
+    }
+
+    @Test
+    void shouldNotTransitionOrderInOtherStatus() {
+        // Given
+        Order cancelled = createTestOrder();
+        cancelled.setStatus(OrderStatus.CANCELLED);
+        orderRepository.save(cancelled);
+
+        // When
+        int transitioned = confirm(cancelled.getId());
+
+        // Then
+        assertThat(transitioned).isZero();
+        assertThat(orderRepository.findById(cancelled.getId()).orElseThrow().getStatus())
+            .isEqualTo(OrderStatus.CANCELLED);
+    }
+
+    private int confirm(UUID id) {
+        return transactionTemplate.execute(status ->
+            orderRepository.transitionStatus(id, OrderStatus.PENDING, OrderStatus.CONFIRMED, Instant.now()));
+    }
+
     private Order createTestOrder() {
         Order order = new Order();
         order.setId(UUID.randomUUID());
@@ -0,0 +1,86 @@
+package com.example.s1;
+
+import com.example.s1.domain.OrderStatus;
+import com.example.s1.repository.OrderRepository;
+import com.example.s1.service.OrderService;
+import com.example.s1.service.OrderStatusCounters;
+import com.example.s1.service.dto.OrderStatusSummary;
+import com.example.tc.base.IntegrationTestBase;
+import com.example.tc.dto.CreateOrderRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Integration tests for incrementally maintained order status counters.
+ *
+ * Given 訂單建立與狀態轉換持續發生
+ * When 查詢各狀態的訂單數量
+ * Then 由記憶體計數器回應，且與資料庫統計一致
+ */
+@SpringBootTest
+@Import(S1TestApplication.class)
+@ActiveProfiles("test")
+class OrderStatusCountersIT extends IntegrationTestBase {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderStatusCounters orderStatusCounters;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Test
+    void shouldCountCreatedOrders() {
+        // Given
+        orderStatusCounters.reconcile();
+        long totalBefore = total(orderService.getStatusSummary());
+
+        // When
+        orderService.createOrders(List.of(CreateOrderRequest.sample(), CreateOrderRequest.sample()));
+
+        // Then - 狀態可能已被消費者轉換，但總數應增加
+        assertThat(total(orderService.getStatusSummary())).isEqualTo(totalBefore + 2);
+    }
+
+    @Test
+    void shouldTrackConfirmationsAndMatchDatabase() {
+        // Given
+        orderService.createOrder(CreateOrderRequest.sample());
+
+        // Then - 消費者確認後計數器與資料庫一致
+        await().atMost(10, TimeUnit.SECONDS).untilAsserted(() -> {
+            OrderStatusSummary summary = orderService.getStatusSummary();
+            for (OrderStatus status : OrderStatus.values()) {
+                assertThat(summary.counts().get(status))
+                    .as(status.name())
+                    .isEqualTo(orderRepository.countByStatus(status));
+            }
+        });
+    }
+
+    @Test
+    void shouldReconcileWithDatabase() {
+        // When
+        orderStatusCounters.reconcile();
+
+        // Then
+        OrderStatusSummary summary = orderService.getStatusSummary();
+        assertThat(summary.reconciledAt()).isNotNull();
+        assertThat(total(summary)).isEqualTo(orderRepository.count());
+    }
+
+    private static long total(OrderStatusSummary summary) {
+        return summary.counts().values().stream().mapToLong(Long::longValue).sum();
+    }
+}
@@ -0,0 +1,224 @@
+package com.example.s1;
+
+import com.example.s1.domain.Order;
+import com.example.s1.domain.OrderStatus;
+import com.example.s1.messaging.OrderEventConsumer;
+import com.example.s1.repository.OrderRepository;
+import com.example.s1.service.OrderService;
+import com.example.s1.service.OrderStatusWriteBehind;
+import com.example.tc.base.IntegrationTestBase;
+import com.example.tc.dto.CreateOrderRequest;
+import com.example.tc.dto.OrderResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.AmqpAdmin;
+import org.springframework.amqp.core.QueueInformation;
+import org.springframework.amqp.rabbit.listener.MessageListenerContainer;
+import org.springframework.amqp.rabbit.listener.RabbitListenerEndpointRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Integration tests for write-behind coalescing of order status transitions.
+ * The flush window is stretched so the test decides when buffered transitions are written.
+ *
+ * Given 同一筆訂單在短時間內被重複轉換狀態
+ * When 寫入緩衝區被排出
+ * Then 合併後依序寫入最終狀態，並可由指標觀察合併數量；消費者在寫入後才確認訊息
+ */
+@SpringBootTest(properties = {
+    "app.orders.write-behind.enabled=true",
+    "app.orders.write-behind.window-ms=3600000",
+    "app.orders.write-behind.max-lag-ms=3600000"
+})
+@Import(S1TestApplication.class)
+@ActiveProfiles("test")
+@DirtiesContext
+class OrderWriteBehindIT extends IntegrationTestBase {
+
+    @Autowired
+    private OrderStatusWriteBehind writeBehind;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private RabbitListenerEndpointRegistry listenerRegistry;
+
+    @Autowired
+    private AmqpAdmin amqpAdmin;
+
+    @Test
+    void shouldCoalesceRepeatedTransitionsIntoOneUpdate() {
+        // Given
+        Order order = orderRepository.save(newOrder());
+        double coalescedBefore = meterRegistry.counter("orders.write_behind.coalesced").count();
+
+        // When - 事件重播造成五次相同轉換
+        List<CompletableFuture<Void>> writes = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            writes.add(writeBehind.submit(order.getId(), OrderStatus.PENDING, OrderStatus.CONFIRMED));
+        }
+        assertThat(writeBehind.getPendingCount()).isGreaterThanOrEqualTo(1);
+        assertThat(writes).noneMatch(CompletableFuture::isDone);
+        writeBehind.flushAll();
+
+        // Then - 版本只遞增一次，且每次提交都在寫入後才完成
+        assertThat(writes).allMatch(write -> write.isDone() && !write.isCompletedExceptionally());
+        Order updated = orderRepository.findById(order.getId()).orElseThrow();
+        assertThat(updated.getStatus()).isEqualTo(OrderStatus.CONFIRMED);
+        assertThat(updated.getVersion()).isEqualTo(order.getVersion() + 1);
+        assertThat(meterRegistry.counter("orders.write_behind.coalesced").count())
+            .isEqualTo(coalescedBefore + 4);
+    }
+
+    @Test
+    void shouldMergeChainedTransitions() {
+        // Given
+        Order order = orderRepository.save(newOrder());
+
+        // When - PENDING -> CONFIRMED -> SHIPPED 首尾相接，合併為一筆並依序寫入
+        writeBehind.submit(order.getId(), OrderStatus.PENDING, OrderStatus.CONFIRMED);
+        writeBehind.submit(order.getId(), OrderStatus.CONFIRMED, OrderStatus.SHIPPED);
+        assertThat(writeBehind.getPendingCount()).isEqualTo(1);
+        writeBehind.flushAll();
+
+        // Then
+        Order updated = orderRepository.findById(order.getId()).orElseThrow();
+        assertThat(updated.getStatus()).isEqualTo(OrderStatus.SHIPPED);
+        assertThat(updated.getVersion()).isEqualTo(order.getVersion() + 2);
+    }
+
+    @Test
+    void shouldApplyChainedTransitionToOrderAlreadyPastFirstStep() {
+        // Given - 訂單已由其他途徑確認
+        Order order = newOrder();
+        order.setStatus(OrderStatus.CONFIRMED);
+        order = orderRepository.save(order);
+
+        // When - 合併後的 PENDING -> CONFIRMED -> SHIPPED 才排出
+        CompletableFuture<Void> confirm = writeBehind.submit(order.getId(), OrderStatus.PENDING, OrderStatus.CONFIRMED);
+        CompletableFuture<Void> ship = writeBehind.submit(order.getId(), OrderStatus.CONFIRMED, OrderStatus.SHIPPED);
+        writeBehind.flushAll();
+
+        // Then - 第一步不命中，第二步仍然寫入
+        assertThat(confirm).isCompleted();
+        assertThat(ship).isCompleted();
+        Order updated = orderRepository.findById(order.getId()).orElseThrow();
+        assertThat(updated.getStatus()).isEqualTo(OrderStatus.SHIPPED);
+        assertThat(updated.getVersion()).isEqualTo(order.getVersion() + 1);
+    }
+
+    @Test
+    void shouldFailTransitionOfMissingOrder() {
+        // When
+        CompletableFuture<Void> confirm = writeBehind.submit(UUID.randomUUID(), OrderStatus.PENDING, OrderStatus.CONFIRMED);
+        writeBehind.flushAll();
+
+        // Then
+        assertThat(confirm).isCompletedExceptionally();
+        assertThatThrownBy(confirm::join)
+            .hasCauseInstanceOf(OrderStatusWriteBehind.StaleTransitionException.class);
+    }
+
+    @Test
+    void shouldWriteBufferedTransitionBeforeOneThatDoesNotContinueIt() {
+        // Given
+        Order order = orderRepository.save(newOrder());
+        CompletableFuture<Void> confirm = writeBehind.submit(order.getId(), OrderStatus.PENDING, OrderStatus.CONFIRMED);
+
+        // When - 同樣期望 PENDING 的取消無法接在 CONFIRMED 之後，先寫入已緩衝的確認
+        CompletableFuture<Void> cancel = writeBehind.submit(order.getId(), OrderStatus.PENDING, OrderStatus.CANCELLED);
+
+        // Then
+        assertThat(confirm).isCompleted();
+        assertThat(orderRepository.findById(order.getId()).orElseThrow().getStatus())
+            .isEqualTo(OrderStatus.CONFIRMED);
+
+        // When - 取消的條件式 UPDATE 不再命中
+        writeBehind.flushAll();
+
+        // Then - 取消以失敗完成，消費者據此拒絕訊息
+        assertThatThrownBy(cancel::join)
+            .hasCauseInstanceOf(OrderStatusWriteBehind.StaleTransitionException.class);
+        Order updated = orderRepository.findById(order.getId()).orElseThrow();
+        assertThat(updated.getStatus()).isEqualTo(OrderStatus.CONFIRMED);
+        assertThat(updated.getVersion()).isEqualTo(order.getVersion() + 1);
+    }
+
+    @Test
+    void shouldRejectTransitionOutsideOrderLifecycle() {
+        UUID id = UUID.randomUUID();
+
+        assertThatThrownBy(() -> writeBehind.submit(id, OrderStatus.CONFIRMED, OrderStatus.CANCELLED))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThat(writeBehind.getPendingCount()).isZero();
+    }
+
+    @Test
+    void shouldAcknowledgeConfirmationOnlyAfterItIsWritten() {
+        // Given - 事件已被消費並緩衝，但尚未寫入
+        OrderResponse created = orderService.createOrder(CreateOrderRequest.sample());
+        await().atMost(10, TimeUnit.SECONDS)
+            .untilAsserted(() -> assertThat(writeBehind.getPendingCount()).isGreaterThanOrEqualTo(1));
+        MessageListenerContainer container = listenerRegistry.getListenerContainer(OrderEventConsumer.LISTENER_ID);
+
+        try {
+            // When - 消費者在排出前停止（模擬程序中止）
+            container.stop();
+
+            // Then - 未確認的訊息回到佇列，不會遺失
+            await().atMost(10, TimeUnit.SECONDS)
+                .untilAsserted(() -> assertThat(readyMessages()).isGreaterThanOrEqualTo(1));
+        } finally {
+            container.start();
+        }
+
+        // When - 重新投遞後寫入
+        await().atMost(10, TimeUnit.SECONDS).untilAsserted(() -> {
+            writeBehind.flushAll();
+            assertThat(orderRepository.findById(created.id()).orElseThrow().getStatus())
+                .isEqualTo(OrderStatus.CONFIRMED);
+        });
+
+        // Then - 寫入後才確認，佇列清空
+        await().atMost(10, TimeUnit.SECONDS).untilAsserted(() -> {
+            writeBehind.flushAll();
+            assertThat(readyMessages()).isZero();
+        });
+    }
+
+    private long readyMessages() {
+        QueueInformation queue = amqpAdmin.getQueueInfo(OrderEventConsumer.QUEUE);
+        return queue != null ? queue.getMessageCount() : 0;
+    }
+
+    private Order newOrder() {
+        Order order = new Order();
+        order.setCustomerName("Write-behind Customer");
+        order.setProductName("Write-behind Product");
+        order.setQuantity(1);
+        order.setAmount(new BigDecimal("10.00"));
+        return order;
+    }
+}
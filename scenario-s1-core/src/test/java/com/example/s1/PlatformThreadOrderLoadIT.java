@@ -0,0 +1,21 @@
+package com.example.s1;
+
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Order creation load test on platform threads (default Tomcat thread pool).
+ */
+@SpringBootTest(
+    webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = {"server.tomcat.max-connections=20000", "server.tomcat.accept-count=1000"})
+@Import(S1TestApplication.class)
+@ActiveProfiles("test")
+class PlatformThreadOrderLoadIT extends AbstractOrderLoadIT {
+
+    @Override
+    protected String threadModel() {
+        return "platform-threads";
+    }
+}
@@ -51,7 +51,7 @@ class SchemaMigrationIT extends IntegrationTestBase {
 
         // Then
         assertThat(current).isNotNull();
-        assertThat(current.getVersion().toString()).isEqualTo("1");
+        assertThat(current.getVersion().toString()).isEqualTo("5");
     }
 
     @Test
@@ -76,12 +76,12 @@ class SchemaMigrationIT extends IntegrationTestBase {
         );
 
         // Then
-        assertThat(columns).hasSize(8);
+        assertThat(columns).hasSize(9);
 
         // Verify essential columns exist
         assertThat(columns)
             .extracting(row -> row.get("column_name"))
-            .contains("id", "customer_name", "product_name", "quantity", "amount", "status", "created_at", "updated_at");
+            .contains("id", "customer_name", "product_name", "quantity", "amount", "status", "created_at", "updated_at", "version");
     }
 
     @Test
@@ -99,8 +99,8 @@ class SchemaMigrationIT extends IntegrationTestBase {
     }
 
     @Test
-    void shouldCreateIndexOnCreatedAt() {
-        // When
+    void shouldReplaceCreatedAtIndexWithKeysetIndex() {
+        // When - V3 的 (created_at, id) 索引取代單欄索引
         var indexes = jdbcTemplate.queryForList(
             """
             SELECT indexname FROM pg_indexes
@@ -109,6 +109,37 @@ class SchemaMigrationIT extends IntegrationTestBase {
         );
 
         // Then
-        assertThat(indexes).hasSize(1);
+        assertThat(indexes).isEmpty();
+    }
+
+    @Test
+    void shouldCreateKeysetIndexes() {
+        // When
+        var indexes = jdbcTemplate.queryForList(
+            """
+            SELECT indexname FROM pg_indexes
+            WHERE tablename = 'orders'
+              AND indexname IN ('idx_orders_created_at_id', 'idx_orders_status_created_at_id')
+            """
+        );
+
+        // Then
+        assertThat(indexes).hasSize(2);
+    }
+
+    @Test
+    void shouldCreateOrderOutboxTable() {
+        // When
+        var columns = jdbcTemplate.queryForList(
+            """
+            SELECT column_name FROM information_schema.columns
+            WHERE table_name = 'order_outbox'
+            """
+        );
+
+        // Then
+        assertThat(columns)
+            .extracting(row -> row.get("column_name"))
+            .containsExactlyInAnyOrder("id", "aggregate_id", "routing_key", "payload", "created_at", "failed_at");
     }
 }
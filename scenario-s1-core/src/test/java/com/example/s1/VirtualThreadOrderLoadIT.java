@@ -0,0 +1,30 @@
+package com.example.s1;
+
+import com.example.s1.diagnostics.VirtualThreadPinningMonitor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Order creation load test with the {@code virtual-threads} profile.
+ * Also reports how often virtual threads were pinned to their carrier during the run.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Import(S1TestApplication.class)
+@ActiveProfiles({"test", "virtual-threads"})
+class VirtualThreadOrderLoadIT extends AbstractOrderLoadIT {
+
+    @Autowired
+    private VirtualThreadPinningMonitor pinningMonitor;
+
+    @Override
+    protected String threadModel() {
+        return "virtual-threads";
+    }
+
+    @Override
+    protected void reportDiagnostics() {
+        log.info("[virtual-threads] pinned virtual thread events so far: {}", pinningMonitor.getPinnedCount());
+    }
+}
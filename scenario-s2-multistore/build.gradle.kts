@@ -9,17 +9,44 @@ dependencies {
     implementation(libs.spring.boot.starter.data.jpa)
     implementation(libs.spring.boot.starter.data.redis)
     implementation(libs.spring.boot.starter.data.elasticsearch)
+    implementation("org.springframework.boot:spring-boot-starter-actuator")
+    implementation("com.github.ben-manes.caffeine:caffeine")
 
     // Jackson for JSON serialization (including Instant support)
     implementation("com.fasterxml.jackson.datatype:jackson-datatype-jsr310")
 
+    // Compression for large cache values
+    implementation(libs.lz4.java)
+
     // Database
     implementation(libs.bundles.database)
     runtimeOnly(libs.postgresql.driver)
 
+    // Shared id generators; non-transitive so tc-common's test libraries stay off the runtime classpath
+    implementation(project(":tc-common")) {
+        isTransitive = false
+    }
+
     // Test dependencies
     testImplementation(libs.bundles.spring.boot.test)
     testImplementation(project(":tc-common"))
     testImplementation(libs.testcontainers.postgresql)
     testImplementation(libs.testcontainers.elasticsearch)
 }
+
+// Performance comparisons are tagged and excluded from the regular test run
+tasks.test {
+    useJUnitPlatform {
+        excludeTags("performance")
+    }
+}
+
+tasks.register<Test>("performanceTest") {
+    description = "Runs the tagged performance comparisons."
+    group = "verification"
+    testClassesDirs = sourceSets["test"].output.classesDirs
+    classpath = sourceSets["test"].runtimeClasspath
+    useJUnitPlatform {
+        includeTags("performance")
+    }
+}
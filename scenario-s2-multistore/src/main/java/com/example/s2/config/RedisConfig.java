@@ -1,9 +1,15 @@
 package com.example.s2.config;
 
+import com.example.s2.service.CustomerNearCache;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.RedisSerializer;
 
 /**
  * Redis configuration for the S2 multi-store scenario.
@@ -26,4 +32,39 @@ public class RedisConfig {
         template.setEnableTransactionSupport(false);
         return template;
     }
+
+    /**
+     * Creates a template for encoded customer cache values.
+     * Keys are strings; values are raw bytes produced by the customer cache codec.
+     *
+     * @param connectionFactory the Redis connection factory
+     * @return configured RedisTemplate
+     */
+    @Bean
+    public RedisTemplate<String, byte[]> customerValueRedisTemplate(RedisConnectionFactory connectionFactory) {
+        RedisTemplate<String, byte[]> template = new RedisTemplate<>();
+        template.setConnectionFactory(connectionFactory);
+        template.setKeySerializer(RedisSerializer.string());
+        template.setValueSerializer(RedisSerializer.byteArray());
+        template.setEnableTransactionSupport(false);
+        return template;
+    }
+
+    /**
+     * Subscribes the near cache to invalidations broadcast by other nodes.
+     *
+     * @param connectionFactory the Redis connection factory
+     * @param nearCache         the local customer cache
+     * @return listener container for the invalidation channel
+     */
+    @Bean
+    @ConditionalOnProperty(name = "app.customers.near-cache.enabled", havingValue = "true")
+    public RedisMessageListenerContainer customerInvalidationListenerContainer(
+            RedisConnectionFactory connectionFactory,
+            CustomerNearCache nearCache) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(nearCache, new ChannelTopic(CustomerNearCache.INVALIDATION_CHANNEL));
+        return container;
+    }
 }
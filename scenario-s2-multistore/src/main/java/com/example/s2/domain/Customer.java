@@ -1,5 +1,6 @@
 package com.example.s2.domain;
 
+import com.example.tc.util.UuidStrategy;
 import jakarta.persistence.*;
 import java.io.Serializable;
 import java.time.Instant;
@@ -37,14 +38,25 @@ public class Customer implements Serializable {
     @Column(name = "updated_at", nullable = false)
     private Instant updatedAt;
 
+    /**
+     * Creates a customer with a time-ordered ID, the default {@code app.customers.id-strategy}.
+     */
     public Customer() {
-        this.id = UUID.randomUUID();
+        this(UuidStrategy.TIME_ORDERED.next());
+    }
+
+    public Customer(UUID id) {
+        this.id = id;
         this.createdAt = Instant.now();
         this.updatedAt = Instant.now();
     }
 
     public Customer(String name, String email) {
-        this();
+        this(UuidStrategy.TIME_ORDERED.next(), name, email);
+    }
+
+    public Customer(UUID id, String name, String email) {
+        this(id);
         this.name = name;
         this.email = email;
     }
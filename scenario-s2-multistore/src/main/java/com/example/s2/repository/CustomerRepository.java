@@ -1,13 +1,23 @@
 package com.example.s2.repository;
 
 import com.example.s2.domain.Customer;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 /**
  * Repository interface for Customer persistence operations.
@@ -40,4 +50,69 @@ public interface CustomerRepository extends JpaRepository<Customer, UUID> {
      * @return true if a customer with this email exists
      */
     boolean existsByEmail(String email);
+
+    /**
+     * Streams customers whose ID falls in {@code [from, to)} for bulk reindexing.
+     * The range is a primary key scan, so disjoint ranges can be read in parallel.
+     * Rows are fetched from a server-side cursor in chunks and loaded read-only;
+     * the stream must be consumed and closed inside a transaction.
+     *
+     * @param from inclusive lower bound on the ID
+     * @param to   exclusive upper bound on the ID
+     * @return stream of customers in the range
+     */
+    @QueryHints({
+        @QueryHint(name = HINT_FETCH_SIZE, value = "1000"),
+        @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT c FROM Customer c WHERE c.id >= :from AND c.id < :to")
+    Stream<Customer> streamByIdRange(@Param("from") UUID from, @Param("to") UUID to);
+
+    /**
+     * Streams customers whose ID is at least {@code from}; the open-ended last range of a reindex.
+     *
+     * @param from inclusive lower bound on the ID
+     * @return stream of customers in the range
+     * @see #streamByIdRange(UUID, UUID)
+     */
+    @QueryHints({
+        @QueryHint(name = HINT_FETCH_SIZE, value = "1000"),
+        @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT c FROM Customer c WHERE c.id >= :from")
+    Stream<Customer> streamByIdFrom(@Param("from") UUID from);
+
+    /**
+     * Splits the customers, ordered by ID, into {@code slices} groups of about the same size
+     * and returns the smallest ID of each group. The bounds follow the actual ID distribution,
+     * so time-ordered IDs clustered in a narrow part of the UUID space still spread evenly.
+     * Fewer bounds are returned when there are fewer customers than slices.
+     * PostgreSQL has no {@code min(uuid)} aggregate, so the first row of each group is picked
+     * with {@code row_number()} instead.
+     *
+     * @param slices the number of groups
+     * @return the first ID of each group, ascending
+     */
+    @Query(value = """
+        SELECT id FROM (
+            SELECT id, row_number() OVER (PARTITION BY slice ORDER BY id) AS rn
+            FROM (SELECT id, ntile(:slices) OVER (ORDER BY id) AS slice FROM customers) t
+        ) s
+        WHERE rn = 1 ORDER BY id
+        """, nativeQuery = true)
+    List<UUID> findSliceLowerBounds(@Param("slices") int slices);
+
+    /**
+     * Streams customers created or updated at or after the given instant.
+     * Used to catch up on writes made while a reindex was running.
+     *
+     * @param since inclusive lower bound on updated_at
+     * @return stream of recently changed customers
+     */
+    @QueryHints({
+        @QueryHint(name = HINT_FETCH_SIZE, value = "1000"),
+        @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT c FROM Customer c WHERE c.updatedAt >= :since")
+    Stream<Customer> streamUpdatedSince(@Param("since") Instant since);
 }
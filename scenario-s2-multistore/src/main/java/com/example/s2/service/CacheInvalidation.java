@@ -0,0 +1,16 @@
+package com.example.s2.service;
+
+/**
+ * How {@link CacheService#clearAll()} invalidates the customer cache.
+ */
+public enum CacheInvalidation {
+
+    /** Walks the customer keyspace with SCAN and removes keys in UNLINK batches. */
+    SCAN,
+
+    /**
+     * Keys embed a generation number; a flush increments it in O(1) and
+     * entries of earlier generations are left to expire through their TTL.
+     */
+    GENERATION
+}
@@ -1,21 +1,42 @@
 package com.example.s2.service;
 
 import com.example.s2.domain.Customer;
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.example.s2.service.codec.CacheCompression;
+import com.example.s2.service.codec.CustomerCacheCodec;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
 
 /**
  * Service for Redis cache operations.
  * Implements cache read-through and write-through patterns for Customer entities.
+ * When the near cache is enabled, reads consult it before Redis and writes keep it coherent.
+ * Values are encoded by {@link CustomerCacheCodec}; the write format is configurable and
+ * values in any earlier format remain readable.
+ * Writes with the default TTL are jittered so entries cached together do not expire together.
+ * {@link #clearAll()} never blocks Redis: it either walks the keyspace incrementally
+ * or advances the key generation, see {@link CacheInvalidation}.
  */
 @Service
 public class CacheService {
@@ -23,14 +44,53 @@ public class CacheService {
     private static final Logger log = LoggerFactory.getLogger(CacheService.class);
     private static final String CUSTOMER_KEY_PREFIX = "customer:";
     private static final Duration DEFAULT_TTL = Duration.ofMinutes(30);
+    private static final int CLEAR_BATCH_SIZE = 500;
+    private static final byte[] ABSENT = new byte[0];
+
+    /**
+     * Sets the key only if it still holds the expected value, or is missing when the expected value
+     * is empty; encoded customers are never empty. Returns 1 if the value was written.
+     */
+    private static final RedisScript<Long> COMPARE_AND_SET = RedisScript.of("""
+        local current = redis.call('GET', KEYS[1])
+        if (current == false and ARGV[1] == '') or current == ARGV[1] then
+            redis.call('SET', KEYS[1], ARGV[2], 'PX', ARGV[3])
+            return 1
+        end
+        return 0
+        """, Long.class);
+
+    /** Current key generation; kept outside the {@code customer:} namespace so SCAN clears never touch it. */
+    public static final String GENERATION_KEY = "customer-cache:generation";
 
     private final StringRedisTemplate redisTemplate;
-    private final ObjectMapper objectMapper;
+    private final RedisTemplate<String, byte[]> valueTemplate;
+    private final CustomerCacheCodec codec;
+    private final CustomerNearCache nearCache;
+    private final CacheInvalidation invalidation;
+    private final double ttlJitter;
+    private final long generationRefreshNanos;
+    private volatile long generation;
+    private volatile long generationExpiresAt;
 
-    public CacheService(StringRedisTemplate redisTemplate) {
+    public CacheService(StringRedisTemplate redisTemplate,
+                        RedisTemplate<String, byte[]> customerValueRedisTemplate,
+                        ObjectProvider<CustomerNearCache> nearCache,
+                        @Value("${app.customers.cache.format:binary}") String format,
+                        @Value("${app.customers.cache.compression:lz4}") CacheCompression compression,
+                        @Value("${app.customers.cache.compression-threshold-bytes:512}") int compressionThreshold,
+                        @Value("${app.customers.cache.invalidation:scan}") CacheInvalidation invalidation,
+                        @Value("${app.customers.cache.generation-refresh-ms:1000}") long generationRefreshMs,
+                        @Value("${app.customers.cache.ttl-jitter:0.1}") double ttlJitter) {
         this.redisTemplate = redisTemplate;
-        this.objectMapper = new ObjectMapper();
-        this.objectMapper.registerModule(new JavaTimeModule());
+        this.valueTemplate = customerValueRedisTemplate;
+        this.codec = CustomerCacheCodec.of(format, compression, compressionThreshold);
+        this.nearCache = nearCache.getIfAvailable();
+        this.invalidation = invalidation;
+        this.ttlJitter = ttlJitter;
+        this.generationRefreshNanos = Duration.ofMillis(generationRefreshMs).toNanos();
+        // Already expired, so the first key lookup reads the generation from Redis
+        this.generationExpiresAt = System.nanoTime();
     }
 
     /**
@@ -40,32 +100,138 @@ public class CacheService {
      * @return the cached customer if present
      */
     public Optional<Customer> get(UUID id) {
-        String key = buildKey(id);
-        try {
-            String json = redisTemplate.opsForValue().get(key);
-            if (json != null) {
-                log.debug("Cache HIT for customer: {}", id);
-                return Optional.of(objectMapper.readValue(json, Customer.class));
+        if (nearCache != null) {
+            Optional<Customer> local = nearCache.get(id);
+            if (local.isPresent()) {
+                return local;
             }
+        }
+        return fromRemote(id, valueTemplate.opsForValue().get(buildKey(id)));
+    }
+
+    /**
+     * Gets a customer from cache together with its remaining TTL.
+     * Value and TTL are read in one pipelined round-trip.
+     *
+     * @param id the customer ID
+     * @return the cached entry if present; its TTL is null when served from the near cache
+     */
+    public Optional<CacheEntry> getEntry(UUID id) {
+        if (nearCache != null) {
+            Optional<Customer> local = nearCache.get(id);
+            if (local.isPresent()) {
+                return Optional.of(new CacheEntry(local.get(), null));
+            }
+        }
+        byte[] key = buildKey(id).getBytes(StandardCharsets.UTF_8);
+        List<Object> results = valueTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            connection.stringCommands().get(key);
+            connection.keyCommands().pTtl(key);
+            return null;
+        });
+        Long ttlMillis = (Long) results.get(1);
+        Duration ttl = ttlMillis != null && ttlMillis >= 0 ? Duration.ofMillis(ttlMillis) : null;
+        return fromRemote(id, (byte[]) results.get(0)).map(customer -> new CacheEntry(customer, ttl));
+    }
+
+    private Optional<Customer> fromRemote(UUID id, byte[] value) {
+        if (value == null) {
             log.debug("Cache MISS for customer: {}", id);
             return Optional.empty();
-        } catch (JsonProcessingException e) {
-            log.warn("Failed to deserialize customer from cache: {}", id, e);
-            return Optional.empty();
         }
+        log.debug("Cache HIT for customer: {}", id);
+        Optional<Customer> customer = decode(id, value);
+        if (nearCache != null) {
+            customer.ifPresent(nearCache::putLocal);
+        }
+        return customer;
     }
 
     /**
-     * Puts a customer into cache with default TTL.
+     * Gets several customers from cache with a single MGET round-trip.
+     * Entries that fail to deserialize are reported as misses.
+     *
+     * @param ids the customer IDs; duplicates are looked up once
+     * @return the cached customers and the IDs that were not cached
+     */
+    public MultiGetResult getAll(Collection<UUID> ids) {
+        Map<UUID, Customer> hits = new LinkedHashMap<>();
+        List<UUID> remoteIds = new ArrayList<>();
+        for (UUID id : new LinkedHashSet<>(ids)) {
+            Optional<Customer> local = nearCache != null ? nearCache.get(id) : Optional.empty();
+            if (local.isPresent()) {
+                hits.put(id, local.get());
+            } else {
+                remoteIds.add(id);
+            }
+        }
+        if (remoteIds.isEmpty()) {
+            return new MultiGetResult(hits, List.of());
+        }
+
+        List<String> keys = remoteIds.stream().map(this::buildKey).toList();
+        List<byte[]> values = valueTemplate.opsForValue().multiGet(keys);
+
+        List<UUID> misses = new ArrayList<>();
+        for (int i = 0; i < remoteIds.size(); i++) {
+            UUID id = remoteIds.get(i);
+            byte[] value = values != null ? values.get(i) : null;
+            Optional<Customer> customer = value != null ? decode(id, value) : Optional.empty();
+            if (customer.isPresent()) {
+                hits.put(id, customer.get());
+                if (nearCache != null) {
+                    nearCache.putLocal(customer.get());
+                }
+            } else {
+                misses.add(id);
+            }
+        }
+        log.debug("Cache multi-get for {} customers: {} hits, {} misses", hits.size() + misses.size(), hits.size(), misses.size());
+        return new MultiGetResult(hits, misses);
+    }
+
+    /**
+     * Puts several customers into cache with jittered default TTL in a single pipeline.
+     *
+     * @param customers the customers to cache
+     */
+    public void putAll(Collection<Customer> customers) {
+        if (customers.isEmpty()) {
+            return;
+        }
+        Map<String, byte[]> entries = new LinkedHashMap<>();
+        for (Customer customer : customers) {
+            try {
+                entries.put(buildKey(customer.getId()), codec.encode(customer));
+            } catch (IllegalArgumentException e) {
+                log.warn("Failed to serialize customer to cache: {}", customer.getId(), e);
+            }
+        }
+        valueTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            entries.forEach((key, value) ->
+                connection.stringCommands().pSetEx(key.getBytes(StandardCharsets.UTF_8), defaultTtl().toMillis(), value));
+            return null;
+        });
+        if (nearCache != null) {
+            // Back-filled from the database, so no other node can hold a newer copy
+            customers.forEach(nearCache::putLocal);
+        }
+        log.debug("Cached {} customers in one pipeline with TTL: ~{}", entries.size(), DEFAULT_TTL);
+    }
+
+    /**
+     * Puts a written customer into cache with jittered default TTL.
+     * Other nodes drop their near-cached copy.
      *
      * @param customer the customer to cache
      */
     public void put(Customer customer) {
-        put(customer, DEFAULT_TTL);
+        put(customer, defaultTtl());
     }
 
     /**
-     * Puts a customer into cache with specified TTL.
+     * Puts a written customer into cache with specified TTL.
+     * Other nodes drop their near-cached copy.
      *
      * @param customer the customer to cache
      * @param ttl      time-to-live duration
@@ -73,14 +239,55 @@ public class CacheService {
     public void put(Customer customer, Duration ttl) {
         String key = buildKey(customer.getId());
         try {
-            String json = objectMapper.writeValueAsString(customer);
-            redisTemplate.opsForValue().set(key, json, ttl);
+            byte[] value = codec.encode(customer);
+            valueTemplate.opsForValue().set(key, value, ttl);
+            if (nearCache != null) {
+                nearCache.putAndBroadcast(customer);
+            }
             log.debug("Cached customer: {} with TTL: {}", customer.getId(), ttl);
-        } catch (JsonProcessingException e) {
+        } catch (IllegalArgumentException e) {
             log.warn("Failed to serialize customer to cache: {}", customer.getId(), e);
         }
     }
 
+    /**
+     * Loads a customer from the database and caches it with jittered default TTL, unless the entry
+     * changed meanwhile. The entry's value is read before the load and the result is written only
+     * if Redis still holds that value, so a {@link #put(Customer)} racing with the load is not
+     * overwritten by the older row for the rest of the TTL. Unlike {@link #put(Customer)} nothing is
+     * broadcast: the customer did not change, so other nodes' near caches stay valid.
+     *
+     * @param id     the customer ID
+     * @param loader reads the customer from the database
+     * @return the loaded customer, whether or not it was cached
+     */
+    public Optional<Customer> fill(UUID id, Supplier<Optional<Customer>> loader) {
+        String key = buildKey(id);
+        byte[] expected = valueTemplate.opsForValue().get(key);
+        Optional<Customer> customer = loader.get();
+        if (customer.isEmpty()) {
+            return customer;
+        }
+        try {
+            Duration ttl = defaultTtl();
+            Long written = valueTemplate.execute(COMPARE_AND_SET, List.of(key),
+                expected != null ? expected : ABSENT,
+                codec.encode(customer.get()),
+                String.valueOf(ttl.toMillis()).getBytes(StandardCharsets.UTF_8));
+            if (Long.valueOf(1).equals(written)) {
+                if (nearCache != null) {
+                    nearCache.putLocal(customer.get());
+                }
+                log.debug("Cached customer: {} with TTL: {}", id, ttl);
+            } else {
+                log.debug("Customer {} changed in cache while loading, keeping the cached copy", id);
+            }
+        } catch (IllegalArgumentException e) {
+            log.warn("Failed to serialize customer to cache: {}", id, e);
+        }
+        return customer;
+    }
+
     /**
      * Evicts a customer from cache.
      *
@@ -89,6 +296,9 @@ public class CacheService {
     public void evict(UUID id) {
         String key = buildKey(id);
         Boolean deleted = redisTemplate.delete(key);
+        if (nearCache != null) {
+            nearCache.invalidate(id);
+        }
         log.debug("Evicted customer from cache: {}, deleted: {}", id, deleted);
     }
 
@@ -121,17 +331,108 @@ public class CacheService {
 
     /**
      * Clears all customer cache entries.
-     * Use with caution - mainly for testing purposes.
+     * In {@link CacheInvalidation#GENERATION} mode this is a single INCR; otherwise keys are
+     * removed with SCAN and batched UNLINK so Redis keeps serving other clients meanwhile.
      */
     public void clearAll() {
-        var keys = redisTemplate.keys(CUSTOMER_KEY_PREFIX + "*");
-        if (keys != null && !keys.isEmpty()) {
-            redisTemplate.delete(keys);
-            log.info("Cleared {} customer cache entries", keys.size());
+        if (nearCache != null) {
+            nearCache.invalidateAll();
+        }
+        if (invalidation == CacheInvalidation.GENERATION) {
+            Long next = redisTemplate.opsForValue().increment(GENERATION_KEY);
+            if (next != null) {
+                generation = next;
+                generationExpiresAt = System.nanoTime() + generationRefreshNanos;
+            }
+            log.info("Advanced customer cache generation to {}", next);
+            return;
+        }
+        long removed = unlinkMatching(CUSTOMER_KEY_PREFIX + "*");
+        if (removed > 0) {
+            log.info("Cleared {} customer cache entries", removed);
+        }
+    }
+
+    private long unlinkMatching(String pattern) {
+        ScanOptions options = ScanOptions.scanOptions().match(pattern).count(CLEAR_BATCH_SIZE).build();
+        List<String> batch = new ArrayList<>(CLEAR_BATCH_SIZE);
+        long removed = 0;
+        try (Cursor<String> cursor = redisTemplate.scan(options)) {
+            while (cursor.hasNext()) {
+                batch.add(cursor.next());
+                if (batch.size() == CLEAR_BATCH_SIZE) {
+                    removed += unlink(batch);
+                    batch.clear();
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            removed += unlink(batch);
+        }
+        return removed;
+    }
+
+    private long unlink(List<String> keys) {
+        Long count = redisTemplate.unlink(keys);
+        return count != null ? count : 0;
+    }
+
+    /**
+     * Returns the default TTL spread uniformly by {@code ttlJitter} in both directions.
+     */
+    private Duration defaultTtl() {
+        if (ttlJitter <= 0) {
+            return DEFAULT_TTL;
+        }
+        double factor = 1 + ThreadLocalRandom.current().nextDouble(-ttlJitter, ttlJitter);
+        return Duration.ofMillis((long) (DEFAULT_TTL.toMillis() * factor));
+    }
+
+    private Optional<Customer> decode(UUID id, byte[] value) {
+        try {
+            return Optional.of(codec.decode(value));
+        } catch (IllegalArgumentException e) {
+            log.warn("Failed to deserialize customer from cache: {}", id, e);
+            return Optional.empty();
         }
     }
 
     private String buildKey(UUID id) {
+        if (invalidation == CacheInvalidation.GENERATION) {
+            return CUSTOMER_KEY_PREFIX + "g" + currentGeneration() + ":" + id;
+        }
         return CUSTOMER_KEY_PREFIX + id.toString();
     }
+
+    /**
+     * Returns the key generation, re-reading it from Redis at most once per refresh interval.
+     * Flushes made by other nodes therefore become visible here within that interval.
+     */
+    private long currentGeneration() {
+        long now = System.nanoTime();
+        if (now - generationExpiresAt >= 0) {
+            String value = redisTemplate.opsForValue().get(GENERATION_KEY);
+            generation = value != null ? Long.parseLong(value) : 0;
+            generationExpiresAt = now + generationRefreshNanos;
+        }
+        return generation;
+    }
+
+    /**
+     * Result of a multi-get lookup.
+     *
+     * @param hits   cached customers keyed by ID, in request order
+     * @param misses IDs that were not cached, in request order
+     */
+    public record MultiGetResult(Map<UUID, Customer> hits, List<UUID> misses) {
+    }
+
+    /**
+     * A cached customer with its remaining TTL.
+     *
+     * @param customer the cached customer
+     * @param ttl      remaining time-to-live, or null if unknown
+     */
+    public record CacheEntry(Customer customer, Duration ttl) {
+    }
 }
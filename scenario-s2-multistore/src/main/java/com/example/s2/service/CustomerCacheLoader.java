@@ -0,0 +1,159 @@
+package com.example.s2.service;
+
+import com.example.s2.domain.Customer;
+import com.example.s2.repository.CustomerRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Loads customers from the database into the cache without stampedes.
+ *
+ * Concurrent misses for the same ID on this node share one database load; the other
+ * callers wait for its result. Hits close to expiry may trigger a background refresh
+ * using probabilistic early expiration (XFetch): the chance grows as the remaining TTL
+ * approaches the observed load time, so hot entries are reloaded before they expire.
+ */
+@Component
+public class CustomerCacheLoader {
+
+    private static final Logger log = LoggerFactory.getLogger(CustomerCacheLoader.class);
+
+    private final CustomerRepository customerRepository;
+    private final CacheService cacheService;
+    private final double earlyRefreshBeta;
+    private final ConcurrentMap<UUID, CompletableFuture<Optional<Customer>>> inFlight = new ConcurrentHashMap<>();
+    private final Executor refreshExecutor = new VirtualThreadTaskExecutor("customer-refresh-");
+    private final Counter leaderLoads;
+    private final Counter coalescedLoads;
+    private final Counter earlyRefreshes;
+    private final Timer loadTimer;
+
+    /** Moving average of the database load time, used as the XFetch delta; updated by concurrent loaders. */
+    private final AtomicLong averageLoadNanos = new AtomicLong();
+
+    public CustomerCacheLoader(CustomerRepository customerRepository,
+                               CacheService cacheService,
+                               MeterRegistry meterRegistry,
+                               @Value("${app.customers.cache.early-refresh-beta:1.0}") double earlyRefreshBeta) {
+        this.customerRepository = customerRepository;
+        this.cacheService = cacheService;
+        this.earlyRefreshBeta = earlyRefreshBeta;
+        this.leaderLoads = Counter.builder("customers.cache.loads")
+            .description("Cache misses resolved by a database load")
+            .tag("result", "loaded")
+            .register(meterRegistry);
+        this.coalescedLoads = Counter.builder("customers.cache.loads")
+            .description("Cache misses resolved by waiting for a load already in flight")
+            .tag("result", "coalesced")
+            .register(meterRegistry);
+        this.earlyRefreshes = Counter.builder("customers.cache.early_refreshes")
+            .description("Background reloads triggered before TTL expiry")
+            .register(meterRegistry);
+        this.loadTimer = Timer.builder("customers.cache.load")
+            .description("Database load time for cache misses and refreshes")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Loads a customer from the database and caches it.
+     * Joins a load already in flight for the same ID instead of starting another one.
+     *
+     * @param id the customer ID
+     * @return the customer if found
+     */
+    public Optional<Customer> load(UUID id) {
+        CompletableFuture<Optional<Customer>> own = new CompletableFuture<>();
+        CompletableFuture<Optional<Customer>> existing = inFlight.putIfAbsent(id, own);
+        if (existing != null) {
+            coalescedLoads.increment();
+            log.debug("Joining in-flight load for customer: {}", id);
+            return join(existing);
+        }
+        leaderLoads.increment();
+        return runLoad(id, own);
+    }
+
+    /**
+     * Decides whether a cache hit should be refreshed ahead of expiry.
+     *
+     * @param remainingTtl the entry's remaining TTL, or null if unknown
+     * @return true if the caller should trigger {@link #refreshAsync(UUID)}
+     */
+    public boolean shouldRefreshEarly(Duration remainingTtl) {
+        if (remainingTtl == null || earlyRefreshBeta <= 0) {
+            return false;
+        }
+        // XFetch: refresh when delta * beta * -ln(rand) reaches the remaining TTL
+        double gap = averageLoadNanos.get() * earlyRefreshBeta * -Math.log(ThreadLocalRandom.current().nextDouble());
+        return gap >= remainingTtl.toNanos();
+    }
+
+    /**
+     * Reloads a customer in the background, unless a load for it is already in flight.
+     *
+     * @param id the customer ID
+     */
+    public void refreshAsync(UUID id) {
+        CompletableFuture<Optional<Customer>> own = new CompletableFuture<>();
+        if (inFlight.putIfAbsent(id, own) != null) {
+            return;
+        }
+        earlyRefreshes.increment();
+        log.debug("Refreshing customer ahead of cache expiry: {}", id);
+        refreshExecutor.execute(() -> {
+            try {
+                runLoad(id, own);
+            } catch (RuntimeException e) {
+                log.warn("Early refresh failed for customer: {}", id, e);
+            }
+        });
+    }
+
+    private Optional<Customer> runLoad(UUID id, CompletableFuture<Optional<Customer>> own) {
+        try {
+            Optional<Customer> customer = cacheService.fill(id, () -> {
+                long start = System.nanoTime();
+                Optional<Customer> loaded = customerRepository.findById(id);
+                long elapsed = System.nanoTime() - start;
+                loadTimer.record(Duration.ofNanos(elapsed));
+                averageLoadNanos.accumulateAndGet(elapsed, (average, sample) -> average + (sample - average) / 8);
+                return loaded;
+            });
+            own.complete(customer);
+            return customer;
+        } catch (RuntimeException e) {
+            own.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(id, own);
+        }
+    }
+
+    private static Optional<Customer> join(CompletableFuture<Optional<Customer>> load) {
+        try {
+            return load.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
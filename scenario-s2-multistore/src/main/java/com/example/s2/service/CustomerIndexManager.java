@@ -0,0 +1,301 @@
+package com.example.s2.service;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch.indices.get_mapping.IndexMappingRecord;
+import co.elastic.clients.elasticsearch.indices.update_aliases.Action;
+import co.elastic.clients.json.JsonData;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.elasticsearch.client.elc.ElasticsearchTemplate;
+import org.springframework.data.elasticsearch.core.document.Document;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalInt;
+
+/**
+ * Manages the versioned indices behind the {@code customers} alias.
+ *
+ * Documents live in {@code customers_v{n}} indices; readers and writers only use the alias,
+ * which points at exactly one of them. The field mapping carries {@link #MAPPING_VERSION}
+ * in its {@code _meta}; bump it whenever {@link #mapping()} changes, and the next rollover
+ * ({@link CustomerReindexJob}) builds a new index with the new mapping and shard settings
+ * while searches keep using the old one until the alias is swapped. The newest
+ * {@code retained-versions} replaced versions are kept, so searches still running against them
+ * finish and a rollback is a {@link #swapAlias(String)} back to one of them; older ones are deleted.
+ *
+ * Version 2 indexes {@code name.autocomplete} with edge n-grams for prefix search and
+ * {@code email.text} split into words for full-text search.
+ */
+@Component
+public class CustomerIndexManager {
+
+    public static final String ALIAS = "customers";
+    public static final int MAPPING_VERSION = 2;
+
+    private static final Logger log = LoggerFactory.getLogger(CustomerIndexManager.class);
+    private static final String VERSION_PREFIX = ALIAS + "_v";
+    private static final String MAPPING_VERSION_META = "mapping_version";
+    private static final String AUTOCOMPLETE_FILTER = "autocomplete_edge_ngram";
+    private static final String AUTOCOMPLETE_ANALYZER = "autocomplete";
+    private static final String AUTOCOMPLETE_SEARCH_ANALYZER = "autocomplete_search";
+
+    private final ElasticsearchClient client;
+    private final ElasticsearchTemplate elasticsearchTemplate;
+    private final int shards;
+    private final int replicas;
+    private final int retainedVersions;
+
+    public CustomerIndexManager(ElasticsearchClient client,
+                                ElasticsearchTemplate elasticsearchTemplate,
+                                @Value("${app.customers.search.shards:1}") int shards,
+                                @Value("${app.customers.search.replicas:1}") int replicas,
+                                @Value("${app.customers.search.retained-versions:1}") int retainedVersions) {
+        this.client = client;
+        this.elasticsearchTemplate = elasticsearchTemplate;
+        this.shards = shards;
+        this.replicas = replicas;
+        this.retainedVersions = retainedVersions;
+    }
+
+    /**
+     * Makes sure the alias resolves to an index.
+     * Creates the first version on an empty cluster. A legacy concrete {@code customers} index
+     * keeps serving until a reindex replaces it; an outdated mapping is reported, not changed.
+     */
+    public void initialize() {
+        try {
+            if (client.indices().existsAlias(e -> e.name(ALIAS)).value()) {
+                if (!isCurrent()) {
+                    log.warn("Customers index mapping is version {}, expected {}; run a reindex to roll over",
+                        mappingVersion().orElse(0), MAPPING_VERSION);
+                }
+            } else if (client.indices().exists(e -> e.index(ALIAS)).value()) {
+                log.warn("Customers index is a concrete index; run a reindex to move it behind an alias");
+            } else {
+                String index = createIndex(false);
+                swapAlias(index);
+                log.info("Created {} behind alias {}", index, ALIAS);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Creates the next {@code customers_v{n}} index with the current mapping and shard settings.
+     *
+     * @param bulkLoad true to disable refresh and replicas until {@link #finishBulkLoad(String)}
+     * @return the new index name
+     */
+    public String createIndex(boolean bulkLoad) throws IOException {
+        String index = VERSION_PREFIX + nextVersion();
+        Map<String, Object> settings = Map.of(
+            "index.number_of_shards", shards,
+            "index.number_of_replicas", bulkLoad ? 0 : replicas,
+            "index.refresh_interval", bulkLoad ? "-1" : "1s",
+            "analysis", analysis()
+        );
+        elasticsearchTemplate.indexOps(IndexCoordinates.of(index)).create(settings, mapping());
+        return index;
+    }
+
+    /**
+     * Restores replicas and refresh on an index created for bulk loading and makes its documents searchable.
+     *
+     * @param index the loaded index
+     */
+    public void finishBulkLoad(String index) throws IOException {
+        client.indices().putSettings(p -> p
+            .index(index)
+            .settings(s -> s
+                .numberOfReplicas(String.valueOf(replicas))
+                .refreshInterval(t -> t.time("1s"))));
+        client.indices().refresh(r -> r.index(index));
+    }
+
+    /**
+     * Points the alias at the given index in one atomic request, removing it from the indices it
+     * covered or deleting a concrete index of the same name. Replaced indices outside the
+     * {@code customers_v{n}} naming are then deleted, and versions beyond the retained ones pruned.
+     *
+     * @param target the index to serve reads and writes
+     * @return the indices that served the alias before
+     */
+    public List<String> swapAlias(String target) throws IOException {
+        List<Action> actions = new ArrayList<>();
+        actions.add(Action.of(a -> a.add(add -> add.index(target).alias(ALIAS).isWriteIndex(true))));
+
+        List<String> previous = new ArrayList<>();
+        if (client.indices().existsAlias(e -> e.name(ALIAS)).value()) {
+            previous.addAll(client.indices().getAlias(g -> g.name(ALIAS)).result().keySet());
+            for (String index : previous) {
+                actions.add(Action.of(a -> a.remove(remove -> remove.index(index).alias(ALIAS))));
+            }
+        } else if (client.indices().exists(e -> e.index(ALIAS)).value()) {
+            // Legacy concrete index: replaced atomically by the alias of the same name
+            previous.add(ALIAS);
+            actions.add(Action.of(a -> a.removeIndex(remove -> remove.index(ALIAS))));
+        }
+        client.indices().updateAliases(u -> u.actions(actions));
+
+        // The alias has moved, so cleanup failures must not fail the swap
+        try {
+            for (String index : previous) {
+                if (!index.equals(ALIAS) && !index.equals(target) && version(index) == 0) {
+                    deleteIndex(index);
+                }
+            }
+            deleteOldVersions(target);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Failed to delete customer indices replaced by {}", target, e);
+        }
+        return previous;
+    }
+
+    /**
+     * Deletes versioned indices other than {@code target}, keeping the newest {@code retainedVersions}.
+     */
+    private void deleteOldVersions(String target) throws IOException {
+        List<Integer> versions = new ArrayList<>(versions());
+        versions.remove(Integer.valueOf(version(target)));
+        versions.sort(Comparator.reverseOrder());
+        for (int i = retainedVersions; i < versions.size(); i++) {
+            deleteIndex(VERSION_PREFIX + versions.get(i));
+        }
+    }
+
+    /**
+     * Swaps the alias to a new, empty index. Searches never see a missing index.
+     *
+     * @return the new index name
+     */
+    public String resetToEmptyIndex() {
+        try {
+            String index = createIndex(false);
+            swapAlias(index);
+            return index;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Deletes an index, typically a partially loaded version after a failed reindex.
+     *
+     * @param index the index to delete
+     */
+    public void deleteIndex(String index) {
+        elasticsearchTemplate.indexOps(IndexCoordinates.of(index)).delete();
+    }
+
+    /**
+     * Reads the mapping version recorded in the index behind the alias.
+     *
+     * @return the version, or empty for an index created before mappings were versioned
+     */
+    public OptionalInt mappingVersion() {
+        try {
+            for (IndexMappingRecord record : client.indices().getMapping(g -> g.index(ALIAS)).result().values()) {
+                JsonData version = record.mappings().meta().get(MAPPING_VERSION_META);
+                if (version != null) {
+                    return OptionalInt.of(version.to(Integer.class));
+                }
+            }
+            return OptionalInt.empty();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Checks whether the alias serves a versioned index with the current mapping.
+     *
+     * @return true if no rollover is needed
+     */
+    public boolean isCurrent() {
+        return mappingVersion().orElse(0) == MAPPING_VERSION;
+    }
+
+    /**
+     * Field mapping of customer documents, tagged with {@link #MAPPING_VERSION}.
+     */
+    static Document mapping() {
+        Document mapping = Document.create();
+        mapping.put("_meta", Map.of(MAPPING_VERSION_META, MAPPING_VERSION));
+        mapping.put("properties", Map.of(
+                "id", Map.of("type", "keyword"),
+                "name", Map.of(
+                        "type", "text",
+                        "fields", Map.of("autocomplete", Map.of(
+                                "type", "text",
+                                "analyzer", AUTOCOMPLETE_ANALYZER,
+                                "search_analyzer", AUTOCOMPLETE_SEARCH_ANALYZER))),
+                "email", Map.of(
+                        "type", "keyword",
+                        "fields", Map.of("text", Map.of("type", "text", "analyzer", "simple"))),
+                "phone", Map.of("type", "keyword"),
+                "address", Map.of("type", "text")
+        ));
+        return mapping;
+    }
+
+    /**
+     * Analyzers referenced by {@link #mapping()}.
+     * Names are indexed as lowercased, accent-folded edge n-grams of each word, so a prefix
+     * query is an ordinary term lookup; the query text itself is not n-grammed.
+     */
+    static Map<String, Object> analysis() {
+        return Map.of(
+                "filter", Map.of(AUTOCOMPLETE_FILTER, Map.of(
+                        "type", "edge_ngram",
+                        "min_gram", 2,
+                        "max_gram", 20)),
+                "analyzer", Map.of(
+                        AUTOCOMPLETE_ANALYZER, Map.of(
+                                "type", "custom",
+                                "tokenizer", "standard",
+                                "filter", List.of("lowercase", "asciifolding", AUTOCOMPLETE_FILTER)),
+                        AUTOCOMPLETE_SEARCH_ANALYZER, Map.of(
+                                "type", "custom",
+                                "tokenizer", "standard",
+                                "filter", List.of("lowercase", "asciifolding")))
+        );
+    }
+
+    private int nextVersion() throws IOException {
+        return versions().stream().max(Integer::compare).orElse(0) + 1;
+    }
+
+    private List<Integer> versions() throws IOException {
+        List<Integer> versions = new ArrayList<>();
+        for (String name : client.indices().get(g -> g.index(VERSION_PREFIX + "*")).result().keySet()) {
+            int version = version(name);
+            if (version > 0) {
+                versions.add(version);
+            }
+        }
+        return versions;
+    }
+
+    /**
+     * @return the version of a {@code customers_v{n}} index name, or 0 if it is not one of ours
+     */
+    private static int version(String index) {
+        if (!index.startsWith(VERSION_PREFIX)) {
+            return 0;
+        }
+        try {
+            return Integer.parseInt(index.substring(VERSION_PREFIX.length()));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+}
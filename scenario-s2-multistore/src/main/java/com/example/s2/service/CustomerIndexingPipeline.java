@@ -0,0 +1,414 @@
+package com.example.s2.service;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch._types.Refresh;
+import co.elastic.clients.elasticsearch.core.BulkRequest;
+import co.elastic.clients.elasticsearch.core.BulkResponse;
+import co.elastic.clients.elasticsearch.core.bulk.BulkResponseItem;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.elasticsearch.core.RefreshPolicy;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Asynchronous bulk writer for the customer search index.
+ *
+ * Index and delete requests are queued and sent by a single worker thread as {@code _bulk}
+ * requests, flushed when the batch reaches the action or byte limit or the flush interval
+ * elapses. No refresh is forced unless a request asks for {@link RefreshPolicy#WAIT_UNTIL}
+ * (read-your-writes), in which case its batch is sent with {@code refresh=wait_for}.
+ *
+ * Rejected items (429/503) and failed requests are retried with exponential backoff. While
+ * the worker retries, the bounded queue fills and producers block, which slows writers
+ * down to what the cluster can absorb instead of buffering without limit.
+ *
+ * Operations requested inside a transaction are queued only once it commits, so a rolled back
+ * write never reaches the index and a caller waiting for the result does not hold a database
+ * connection meanwhile; on rollback their futures are cancelled.
+ */
+@Component
+public class CustomerIndexingPipeline {
+
+    private static final Logger log = LoggerFactory.getLogger(CustomerIndexingPipeline.class);
+    private static final Set<Integer> RETRYABLE_STATUSES = Set.of(429, 502, 503, 504);
+    /** Fixed JSON overhead per action: bulk metadata line, field names and punctuation. */
+    private static final int ACTION_OVERHEAD_BYTES = 128;
+
+    private final ElasticsearchClient client;
+    private final BlockingQueue<PendingOperation> queue;
+    private final int bulkActions;
+    private final long bulkBytes;
+    private final long flushIntervalNanos;
+    private final int maxRetries;
+    private final long retryBackoffMs;
+    private final long offerTimeoutMs;
+    private final AtomicInteger pending = new AtomicInteger();
+    private final Counter indexedDocs;
+    private final Counter failedDocs;
+    private final Counter retries;
+    private final Timer bulkTimer;
+    private volatile boolean running;
+    private Thread worker;
+
+    public CustomerIndexingPipeline(ElasticsearchClient client,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${app.customers.indexing.queue-capacity:10000}") int queueCapacity,
+                                    @Value("${app.customers.indexing.bulk-actions:500}") int bulkActions,
+                                    @Value("${app.customers.indexing.bulk-size-bytes:5242880}") long bulkBytes,
+                                    @Value("${app.customers.indexing.flush-interval-ms:200}") long flushIntervalMs,
+                                    @Value("${app.customers.indexing.max-retries:3}") int maxRetries,
+                                    @Value("${app.customers.indexing.retry-backoff-ms:100}") long retryBackoffMs,
+                                    @Value("${app.customers.indexing.offer-timeout-ms:5000}") long offerTimeoutMs) {
+        this.client = client;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.bulkActions = bulkActions;
+        this.bulkBytes = bulkBytes;
+        this.flushIntervalNanos = Duration.ofMillis(flushIntervalMs).toNanos();
+        this.maxRetries = maxRetries;
+        this.retryBackoffMs = retryBackoffMs;
+        this.offerTimeoutMs = offerTimeoutMs;
+
+        Gauge.builder("customers.index.queue.size", queue, BlockingQueue::size)
+            .description("Index operations waiting for the bulk worker")
+            .register(meterRegistry);
+        this.indexedDocs = Counter.builder("customers.index.operations")
+            .tag("result", "success")
+            .register(meterRegistry);
+        this.failedDocs = Counter.builder("customers.index.operations")
+            .tag("result", "failure")
+            .register(meterRegistry);
+        this.retries = Counter.builder("customers.index.retries")
+            .description("Bulk attempts repeated after a rejection or transport error")
+            .register(meterRegistry);
+        this.bulkTimer = Timer.builder("customers.index.bulk")
+            .description("Duration of _bulk requests")
+            .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        running = true;
+        worker = Thread.ofPlatform().name("customer-indexer").daemon().start(this::drain);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        if (!worker.join(Duration.ofSeconds(30))) {
+            // Fails whatever the worker still holds instead of leaving callers waiting
+            worker.interrupt();
+            worker.join(Duration.ofSeconds(5));
+        }
+        if (!queue.isEmpty()) {
+            log.warn("Stopped customer indexer with {} operations still queued", queue.size());
+        }
+    }
+
+    /**
+     * Queues a document to be indexed.
+     *
+     * @param id            the customer ID
+     * @param document      the document to index
+     * @param refreshPolicy {@link RefreshPolicy#WAIT_UNTIL} to complete only once the document is searchable
+     * @return completes when the document has been written, or exceptionally if it could not be
+     * @throws IllegalStateException if the queue stays full for the offer timeout; inside a
+     *                               transaction the returned future fails instead
+     */
+    public CompletableFuture<Void> index(UUID id, SearchService.CustomerDocument document, RefreshPolicy refreshPolicy) {
+        return submitAfterCommit(new PendingOperation(id, document, refreshPolicy, new CompletableFuture<>()));
+    }
+
+    /**
+     * Queues a document to be deleted.
+     *
+     * @param id            the customer ID
+     * @param refreshPolicy {@link RefreshPolicy#WAIT_UNTIL} to complete only once the deletion is visible to search
+     * @return completes when the document has been deleted, or exceptionally if it could not be
+     * @throws IllegalStateException if the queue stays full for the offer timeout; inside a
+     *                               transaction the returned future fails instead
+     */
+    public CompletableFuture<Void> delete(UUID id, RefreshPolicy refreshPolicy) {
+        return submitAfterCommit(new PendingOperation(id, null, refreshPolicy, new CompletableFuture<>()));
+    }
+
+    /**
+     * Waits until every queued operation has been written or has failed.
+     *
+     * @param timeout the maximum time to wait
+     * @return true if the pipeline became idle within the timeout
+     */
+    public boolean awaitIdle(Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (pending.get() > 0) {
+            if (System.nanoTime() - deadline >= 0) {
+                return false;
+            }
+            Thread.sleep(10);
+        }
+        return true;
+    }
+
+    private CompletableFuture<Void> submitAfterCommit(PendingOperation operation) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return submit(operation);
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                try {
+                    submit(operation);
+                } catch (IllegalStateException e) {
+                    // The future already carries the failure; the commit itself must not fail
+                    log.error(e.getMessage());
+                }
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    operation.future().cancel(false);
+                }
+            }
+        });
+        return operation.future();
+    }
+
+    private CompletableFuture<Void> submit(PendingOperation operation) {
+        if (!running) {
+            IllegalStateException stopped = new IllegalStateException(
+                "Customer indexer is stopped, rejected operation for: " + operation.id());
+            operation.future().completeExceptionally(stopped);
+            throw stopped;
+        }
+        pending.incrementAndGet();
+        operation.future().whenComplete((ignored, error) -> pending.decrementAndGet());
+        try {
+            if (!queue.offer(operation, offerTimeoutMs, TimeUnit.MILLISECONDS)) {
+                IllegalStateException full = new IllegalStateException(
+                    "Customer index queue is full, rejected operation for: " + operation.id());
+                operation.future().completeExceptionally(full);
+                throw full;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            operation.future().completeExceptionally(e);
+            throw new IllegalStateException("Interrupted while queueing index operation for: " + operation.id(), e);
+        }
+        if (!running && queue.remove(operation)) {
+            // Raced with stop(); the worker may already have exited and would never pick it up
+            operation.future().completeExceptionally(new IllegalStateException(
+                "Customer indexer is stopped, rejected operation for: " + operation.id()));
+        }
+        return operation.future();
+    }
+
+    private void drain() {
+        List<PendingOperation> batch = new ArrayList<>();
+        try {
+            while (running || !queue.isEmpty()) {
+                try {
+                    nextBatch(batch);
+                    if (!batch.isEmpty()) {
+                        flush(coalesce(batch));
+                    }
+                } catch (RuntimeException e) {
+                    log.error("Customer indexer iteration failed", e);
+                    failAll(batch, e);
+                }
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            running = false;
+            queue.drainTo(batch);
+            log.warn("Customer indexer interrupted, failing {} unwritten operations", batch.size());
+            failAll(batch, new IllegalStateException("Customer indexer was interrupted", e));
+        }
+    }
+
+    /**
+     * Collects operations into {@code batch} until the action or byte limit is reached or the flush
+     * interval elapses after the first operation arrived. Operations collected before an interrupt
+     * stay in {@code batch} so the caller can fail them.
+     */
+    private void nextBatch(List<PendingOperation> batch) throws InterruptedException {
+        PendingOperation first = queue.poll(flushIntervalNanos, TimeUnit.NANOSECONDS);
+        if (first == null) {
+            return;
+        }
+        batch.add(first);
+        long bytes = first.estimatedBytes();
+        long deadline = System.nanoTime() + flushIntervalNanos;
+        while (batch.size() < bulkActions && bytes < bulkBytes) {
+            long remaining = deadline - System.nanoTime();
+            PendingOperation next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+            if (next == null) {
+                break;
+            }
+            batch.add(next);
+            bytes += next.estimatedBytes();
+        }
+    }
+
+    /**
+     * Keeps only the latest operation per customer so a retried item cannot overwrite a newer one.
+     * Superseded operations complete with the outcome of the one that replaced them.
+     */
+    private static List<PendingOperation> coalesce(List<PendingOperation> batch) {
+        Map<UUID, PendingOperation> latest = new LinkedHashMap<>();
+        for (PendingOperation operation : batch) {
+            PendingOperation previous = latest.remove(operation.id());
+            if (previous != null) {
+                operation.future().whenComplete((ignored, error) -> {
+                    if (error == null) {
+                        previous.future().complete(null);
+                    } else {
+                        previous.future().completeExceptionally(error);
+                    }
+                });
+                operation = operation.withRefreshPolicy(strongest(previous.refreshPolicy(), operation.refreshPolicy()));
+            }
+            latest.put(operation.id(), operation);
+        }
+        return new ArrayList<>(latest.values());
+    }
+
+    private void flush(List<PendingOperation> batch) throws InterruptedException {
+        List<PendingOperation> remaining = batch;
+        for (int attempt = 0; ; attempt++) {
+            List<PendingOperation> retry = new ArrayList<>();
+            Exception lastError = null;
+            BulkRequest request = toRequest(remaining);
+            try {
+                BulkResponse response = bulkTimer.recordCallable(() -> client.bulk(request));
+                for (int i = 0; i < remaining.size(); i++) {
+                    PendingOperation operation = remaining.get(i);
+                    BulkResponseItem item = response.items().get(i);
+                    if (item.error() == null) {
+                        indexedDocs.increment();
+                        operation.future().complete(null);
+                    } else if (RETRYABLE_STATUSES.contains(item.status())) {
+                        retry.add(operation);
+                        lastError = new IllegalStateException(item.error().reason());
+                    } else {
+                        fail(operation, new IllegalStateException(
+                            "Index operation failed for " + operation.id() + ": " + item.error().reason()));
+                    }
+                }
+            } catch (IOException | RuntimeException e) {
+                retry = remaining;
+                lastError = e;
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+
+            if (retry.isEmpty()) {
+                return;
+            }
+            if (attempt >= maxRetries) {
+                log.error("Giving up on {} index operations after {} attempts", retry.size(), attempt + 1, lastError);
+                for (PendingOperation operation : retry) {
+                    fail(operation, new IllegalStateException("Index operation failed for " + operation.id(), lastError));
+                }
+                return;
+            }
+            retries.increment();
+            long backoff = retryBackoffMs << attempt;
+            log.warn("Retrying {} index operations in {} ms: {}", retry.size(), backoff, lastError.getMessage());
+            Thread.sleep(backoff);
+            remaining = retry;
+        }
+    }
+
+    private BulkRequest toRequest(List<PendingOperation> operations) {
+        BulkRequest.Builder request = new BulkRequest.Builder().index(CustomerIndexManager.ALIAS);
+        RefreshPolicy refreshPolicy = RefreshPolicy.NONE;
+        for (PendingOperation operation : operations) {
+            String id = operation.id().toString();
+            if (operation.document() != null) {
+                request.operations(op -> op.index(index -> index.id(id).document(operation.document())));
+            } else {
+                request.operations(op -> op.delete(delete -> delete.id(id)));
+            }
+            refreshPolicy = strongest(refreshPolicy, operation.refreshPolicy());
+        }
+        switch (refreshPolicy) {
+            case WAIT_UNTIL -> request.refresh(Refresh.WaitFor);
+            case IMMEDIATE -> request.refresh(Refresh.True);
+            case NONE -> request.refresh(Refresh.False);
+        }
+        return request.build();
+    }
+
+    private void fail(PendingOperation operation, Exception error) {
+        failedDocs.increment();
+        log.error(error.getMessage());
+        operation.future().completeExceptionally(error);
+    }
+
+    private void failAll(List<PendingOperation> operations, Exception error) {
+        for (PendingOperation operation : operations) {
+            if (!operation.future().isDone()) {
+                failedDocs.increment();
+                operation.future().completeExceptionally(error);
+            }
+        }
+    }
+
+    private static RefreshPolicy strongest(RefreshPolicy a, RefreshPolicy b) {
+        if (a == RefreshPolicy.IMMEDIATE || b == RefreshPolicy.IMMEDIATE) {
+            return RefreshPolicy.IMMEDIATE;
+        }
+        if (a == RefreshPolicy.WAIT_UNTIL || b == RefreshPolicy.WAIT_UNTIL) {
+            return RefreshPolicy.WAIT_UNTIL;
+        }
+        return RefreshPolicy.NONE;
+    }
+
+    /**
+     * A queued index (document present) or delete (document null) operation.
+     */
+    private record PendingOperation(UUID id,
+                                    SearchService.CustomerDocument document,
+                                    RefreshPolicy refreshPolicy,
+                                    CompletableFuture<Void> future) {
+
+        PendingOperation withRefreshPolicy(RefreshPolicy policy) {
+            return new PendingOperation(id, document, policy, future);
+        }
+
+        long estimatedBytes() {
+            if (document == null) {
+                return ACTION_OVERHEAD_BYTES;
+            }
+            return ACTION_OVERHEAD_BYTES + length(document.id) + length(document.name) + length(document.email)
+                + length(document.phone) + length(document.address);
+        }
+
+        private static int length(String value) {
+            return value != null ? value.length() : 0;
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.s2.service;
+
+import com.example.s2.domain.Customer;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * In-process (L1) cache in front of the Redis customer cache.
+ * Hits are served from heap without a network hop or deserialization, so returned
+ * customers are shared instances and must not be modified.
+ *
+ * Every write or eviction is broadcast on {@link #INVALIDATION_CHANNEL}; other nodes drop their
+ * copy and reload from Redis on the next read. Messages carry the sender's node ID so a node
+ * ignores its own broadcasts. The L1 TTL bounds staleness if a message is lost.
+ * Enabled with {@code app.customers.near-cache.enabled=true}.
+ */
+@Component
+@ConditionalOnProperty(name = "app.customers.near-cache.enabled", havingValue = "true")
+public class CustomerNearCache implements MessageListener {
+
+    public static final String INVALIDATION_CHANNEL = "customer:invalidations";
+
+    private static final Logger log = LoggerFactory.getLogger(CustomerNearCache.class);
+    private static final String ALL = "*";
+
+    private final StringRedisTemplate redisTemplate;
+    private final Cache<UUID, Customer> cache;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    public CustomerNearCache(StringRedisTemplate redisTemplate,
+                             MeterRegistry meterRegistry,
+                             @Value("${app.customers.near-cache.spec:maximumSize=10000,expireAfterWrite=30s,recordStats}") String spec) {
+        this.redisTemplate = redisTemplate;
+        this.cache = Caffeine.from(spec).build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "customers.near");
+    }
+
+    /**
+     * Gets a customer from the local cache.
+     *
+     * @param id the customer ID
+     * @return the customer if held locally
+     */
+    public Optional<Customer> get(UUID id) {
+        return Optional.ofNullable(cache.getIfPresent(id));
+    }
+
+    /**
+     * Caches a customer read from Redis or the database on this node only.
+     *
+     * @param customer the customer
+     */
+    public void putLocal(Customer customer) {
+        cache.put(customer.getId(), customer);
+    }
+
+    /**
+     * Caches a written customer locally and invalidates it on every other node.
+     *
+     * @param customer the written customer
+     */
+    public void putAndBroadcast(Customer customer) {
+        cache.put(customer.getId(), customer);
+        broadcast(customer.getId().toString());
+    }
+
+    /**
+     * Evicts a customer locally and on every other node.
+     *
+     * @param id the customer ID
+     */
+    public void invalidate(UUID id) {
+        cache.invalidate(id);
+        broadcast(id.toString());
+    }
+
+    /**
+     * Evicts all customers locally and on every other node.
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+        broadcast(ALL);
+    }
+
+    /**
+     * Checks whether a customer is held locally.
+     *
+     * @param id the customer ID
+     * @return true if cached on this node
+     */
+    public boolean contains(UUID id) {
+        return cache.getIfPresent(id) != null;
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int separator = body.indexOf(':');
+        if (separator < 0 || body.substring(0, separator).equals(nodeId)) {
+            return;
+        }
+        String target = body.substring(separator + 1);
+        if (ALL.equals(target)) {
+            cache.invalidateAll();
+        } else {
+            try {
+                cache.invalidate(UUID.fromString(target));
+            } catch (IllegalArgumentException e) {
+                log.warn("Ignoring malformed customer invalidation: {}", body);
+                return;
+            }
+        }
+        log.debug("Near cache invalidated by remote node: {}", target);
+    }
+
+    private void broadcast(String target) {
+        redisTemplate.convertAndSend(INVALIDATION_CHANNEL, nodeId + ":" + target);
+    }
+}
@@ -0,0 +1,278 @@
+package com.example.s2.service;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch.core.BulkRequest;
+import co.elastic.clients.elasticsearch.core.BulkResponse;
+import co.elastic.clients.elasticsearch.core.bulk.BulkResponseItem;
+import com.example.s2.domain.Customer;
+import com.example.s2.repository.CustomerRepository;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Rebuilds the customer search index from PostgreSQL without downtime.
+ *
+ * The customer IDs are split into contiguous ranges holding about the same number of rows,
+ * taken from the actual ID distribution so time-ordered UUIDs spread evenly too. The ranges
+ * are read in parallel, each from its own server-side cursor, and written with {@code _bulk} into a new {@code customers_v{n}}
+ * index created with refresh disabled and no replicas. Once loaded, replicas and refresh are
+ * restored and the {@code customers} alias is moved to the new index in one atomic alias update,
+ * replacing either the previous versioned index or a legacy concrete {@code customers} index.
+ * This is also how a mapping change rolls out, see {@link CustomerIndexManager}.
+ *
+ * Searches keep hitting the old index until the swap. Customers changed while the job ran are
+ * re-indexed through the alias afterwards; deletions made during the run are not replayed.
+ */
+@Component
+public class CustomerReindexJob {
+
+    private static final Logger log = LoggerFactory.getLogger(CustomerReindexJob.class);
+    private static final Set<Integer> RETRYABLE_STATUSES = Set.of(429, 502, 503, 504);
+    private static final int MAX_RETRIES = 5;
+    private static final long RETRY_BACKOFF_MS = 200;
+    private static final UUID MIN_UUID = new UUID(0, 0);
+
+    private final CustomerRepository customerRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ElasticsearchClient client;
+    private final CustomerIndexManager indexManager;
+    private final SearchService searchService;
+    private final int slices;
+    private final int batchSize;
+    private final boolean rolloverOnStartup;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public CustomerReindexJob(CustomerRepository customerRepository,
+                              EntityManager entityManager,
+                              PlatformTransactionManager transactionManager,
+                              ElasticsearchClient client,
+                              CustomerIndexManager indexManager,
+                              SearchService searchService,
+                              @Value("${app.customers.reindex.slices:4}") int slices,
+                              @Value("${app.customers.reindex.batch-size:1000}") int batchSize,
+                              @Value("${app.customers.reindex.rollover-on-startup:false}") boolean rolloverOnStartup) {
+        this.customerRepository = customerRepository;
+        this.entityManager = entityManager;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.client = client;
+        this.indexManager = indexManager;
+        this.searchService = searchService;
+        this.slices = slices;
+        this.batchSize = batchSize;
+        this.rolloverOnStartup = rolloverOnStartup;
+    }
+
+    /**
+     * Rolls the index over in the background when the alias does not serve the current mapping,
+     * if enabled with {@code app.customers.reindex.rollover-on-startup}.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    void rolloverIfOutdated() {
+        if (!rolloverOnStartup || indexManager.isCurrent()) {
+            return;
+        }
+        log.info("Customers index mapping is outdated, rolling over to version {}", CustomerIndexManager.MAPPING_VERSION);
+        Thread.ofPlatform().name("customer-reindex").daemon().start(() -> {
+            try {
+                run();
+            } catch (RuntimeException e) {
+                log.error("Customer index rollover failed", e);
+            }
+        });
+    }
+
+    /**
+     * Rebuilds the index and points the {@code customers} alias at it.
+     *
+     * @return the new index name and what was loaded
+     * @throws IllegalStateException if a reindex is already running or the load fails
+     */
+    public ReindexResult run() {
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("Customer reindex is already running");
+        }
+        try {
+            return reindex();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private ReindexResult reindex() throws IOException {
+        Instant startedAt = Instant.now();
+        List<UUID> bounds = sliceBounds();
+        String target = indexManager.createIndex(true);
+        log.info("Reindexing customers into {} with {} slices", target, bounds.size());
+
+        AtomicLong loaded = new AtomicLong();
+        try (ExecutorService executor = Executors.newFixedThreadPool(bounds.size())) {
+            List<CompletableFuture<Void>> futures = new ArrayList<>();
+            for (int i = 0; i < bounds.size(); i++) {
+                UUID from = bounds.get(i);
+                UUID to = i + 1 < bounds.size() ? bounds.get(i + 1) : null;
+                futures.add(CompletableFuture.runAsync(() -> loadSlice(target, from, to, loaded), executor));
+            }
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+        } catch (CompletionException e) {
+            indexManager.deleteIndex(target);
+            throw new IllegalStateException("Customer reindex into " + target + " failed", e.getCause());
+        }
+
+        List<String> replaced;
+        try {
+            indexManager.finishBulkLoad(target);
+            replaced = indexManager.swapAlias(target);
+        } catch (IOException | RuntimeException e) {
+            indexManager.deleteIndex(target);
+            throw e;
+        }
+        long caughtUp = catchUp(startedAt);
+
+        Duration took = Duration.between(startedAt, Instant.now());
+        log.info("Reindexed {} customers into {} in {} (replaced {}, caught up {})",
+            loaded.get(), target, took, replaced, caughtUp);
+        return new ReindexResult(target, loaded.get(), caughtUp, took);
+    }
+
+    /**
+     * Splits the customers into up to {@code slices} ranges of about the same number of rows.
+     * The first range starts at the smallest UUID so rows inserted below the current minimum
+     * while the job runs are still covered.
+     *
+     * @return the inclusive lower bound of each range, at least one
+     */
+    private List<UUID> sliceBounds() {
+        List<UUID> bounds = new ArrayList<>(customerRepository.findSliceLowerBounds(slices));
+        if (bounds.isEmpty()) {
+            bounds.add(MIN_UUID);
+        } else {
+            bounds.set(0, MIN_UUID);
+        }
+        return bounds;
+    }
+
+    private void loadSlice(String index, UUID from, UUID to, AtomicLong loaded) {
+        readOnlyTransaction.executeWithoutResult(status -> {
+            List<Customer> batch = new ArrayList<>(batchSize);
+            try (Stream<Customer> customers = to != null
+                    ? customerRepository.streamByIdRange(from, to)
+                    : customerRepository.streamByIdFrom(from)) {
+                for (Customer customer : (Iterable<Customer>) customers::iterator) {
+                    batch.add(customer);
+                    if (batch.size() == batchSize) {
+                        loaded.addAndGet(sendBulk(index, batch));
+                        batch.clear();
+                    }
+                }
+            }
+            if (!batch.isEmpty()) {
+                loaded.addAndGet(sendBulk(index, batch));
+            }
+        });
+    }
+
+    /**
+     * Writes one batch and detaches it so the persistence context stays small.
+     */
+    private int sendBulk(String index, List<Customer> customers) {
+        List<Customer> remaining = customers;
+        for (int attempt = 0; ; attempt++) {
+            BulkRequest.Builder request = new BulkRequest.Builder().index(index);
+            for (Customer customer : remaining) {
+                SearchService.CustomerDocument document = SearchService.toDocument(customer);
+                request.operations(op -> op.index(i -> i.id(document.id).document(document)));
+            }
+            List<Customer> retry = new ArrayList<>();
+            try {
+                BulkResponse response = client.bulk(request.build());
+                for (int i = 0; i < remaining.size(); i++) {
+                    BulkResponseItem item = response.items().get(i);
+                    if (item.error() == null) {
+                        continue;
+                    }
+                    if (!RETRYABLE_STATUSES.contains(item.status())) {
+                        throw new IllegalStateException("Failed to index customer "
+                            + remaining.get(i).getId() + ": " + item.error().reason());
+                    }
+                    retry.add(remaining.get(i));
+                }
+            } catch (IOException e) {
+                retry = remaining;
+            }
+            if (retry.isEmpty()) {
+                customers.forEach(entityManager::detach);
+                return customers.size();
+            }
+            if (attempt >= MAX_RETRIES) {
+                throw new IllegalStateException("Giving up on " + retry.size() + " customers after "
+                    + (attempt + 1) + " bulk attempts");
+            }
+            sleep(RETRY_BACKOFF_MS << attempt);
+            remaining = retry;
+        }
+    }
+
+    /**
+     * Re-indexes customers written since the job started, which may have gone to the old index only.
+     */
+    private long catchUp(Instant since) {
+        return readOnlyTransaction.execute(status -> {
+            long count = 0;
+            try (Stream<Customer> changed = customerRepository.streamUpdatedSince(since)) {
+                for (Customer customer : (Iterable<Customer>) changed::iterator) {
+                    searchService.index(customer);
+                    entityManager.detach(customer);
+                    count++;
+                }
+            }
+            return count;
+        });
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while retrying bulk request", e);
+        }
+    }
+
+    /**
+     * Outcome of a reindex run.
+     *
+     * @param index    the new concrete index behind the alias
+     * @param loaded   customers bulk-loaded from the database
+     * @param caughtUp customers re-indexed because they changed during the run
+     * @param took     total duration
+     */
+    public record ReindexResult(String index, long loaded, long caughtUp, Duration took) {
+    }
+}
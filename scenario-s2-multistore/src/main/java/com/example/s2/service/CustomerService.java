@@ -2,14 +2,25 @@ package com.example.s2.service;
 
 import com.example.s2.domain.Customer;
 import com.example.s2.repository.CustomerRepository;
+import com.example.tc.util.UuidStrategy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.elasticsearch.core.RefreshPolicy;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Application service for Customer operations.
@@ -18,25 +29,41 @@ import java.util.UUID;
  * Implements:
  * - Write-through cache: writes to DB and cache simultaneously
  * - Read-through cache: reads from cache first, falls back to DB
- * - Search sync: updates search index on data changes
+ * - Stampede protection: coalesced misses and early refresh of hot entries
+ * - Search sync: queues search index updates once data changes commit; with a refresh policy
+ *   other than {@code none} the call then waits until the change is searchable (read-your-writes)
+ *
+ * Write methods commit through a {@link TransactionTemplate} rather than {@code @Transactional}
+ * so the wait for the index happens after the database connection has been released.
  */
 @Service
-@Transactional
 public class CustomerService {
 
     private static final Logger log = LoggerFactory.getLogger(CustomerService.class);
 
     private final CustomerRepository customerRepository;
     private final CacheService cacheService;
+    private final CustomerCacheLoader cacheLoader;
     private final SearchService searchService;
+    private final UuidStrategy idStrategy;
+    private final RefreshPolicy indexRefreshPolicy;
+    private final TransactionTemplate transactionTemplate;
 
     public CustomerService(
             CustomerRepository customerRepository,
             CacheService cacheService,
-            SearchService searchService) {
+            CustomerCacheLoader cacheLoader,
+            SearchService searchService,
+            TransactionTemplate transactionTemplate,
+            @Value("${app.customers.id-strategy:time-ordered}") UuidStrategy idStrategy,
+            @Value("${app.customers.indexing.refresh-policy:none}") RefreshPolicy indexRefreshPolicy) {
         this.customerRepository = customerRepository;
         this.cacheService = cacheService;
+        this.cacheLoader = cacheLoader;
         this.searchService = searchService;
+        this.idStrategy = idStrategy;
+        this.indexRefreshPolicy = indexRefreshPolicy;
+        this.transactionTemplate = transactionTemplate;
     }
 
     /**
@@ -51,32 +78,36 @@ public class CustomerService {
      * @throws IllegalArgumentException if email already exists
      */
     public Customer createCustomer(String name, String email, String phone, String address) {
-        if (customerRepository.existsByEmail(email)) {
-            throw new IllegalArgumentException("Customer with email already exists: " + email);
-        }
+        IndexedWrite created = transactionTemplate.execute(status -> {
+            if (customerRepository.existsByEmail(email)) {
+                throw new IllegalArgumentException("Customer with email already exists: " + email);
+            }
 
-        Customer customer = new Customer(name, email);
-        customer.setPhone(phone);
-        customer.setAddress(address);
+            Customer customer = new Customer(idStrategy.next(), name, email);
+            customer.setPhone(phone);
+            customer.setAddress(address);
 
-        // Write to database
-        Customer saved = customerRepository.save(customer);
-        log.info("Created customer in database: {}", saved.getId());
+            // Write to database
+            Customer saved = customerRepository.save(customer);
+            log.info("Created customer in database: {}", saved.getId());
 
-        // Write-through to cache
-        cacheService.put(saved);
-        log.debug("Cached customer: {}", saved.getId());
+            // Write-through to cache
+            cacheService.put(saved);
+            log.debug("Cached customer: {}", saved.getId());
 
-        // Sync to search index
-        searchService.index(saved);
-        log.debug("Indexed customer: {}", saved.getId());
+            // Sync to search index once committed
+            return new IndexedWrite(saved, searchService.index(saved, indexRefreshPolicy));
+        });
 
-        return saved;
+        awaitIfRequested(created.indexing());
+        log.debug("Indexed customer: {}", created.customer().getId());
+        return created.customer();
     }
 
     /**
      * Finds a customer by ID.
-     * Implements read-through cache pattern.
+     * Implements read-through cache pattern; concurrent misses for the same ID share one
+     * database load, and hits close to expiry may be refreshed in the background.
      *
      * @param id the customer ID
      * @return the customer if found
@@ -84,21 +115,50 @@ public class CustomerService {
     @Transactional(readOnly = true)
     public Optional<Customer> findById(UUID id) {
         // Try cache first
-        Optional<Customer> cached = cacheService.get(id);
+        Optional<CacheService.CacheEntry> cached = cacheService.getEntry(id);
         if (cached.isPresent()) {
             log.debug("Customer found in cache: {}", id);
-            return cached;
+            if (cacheLoader.shouldRefreshEarly(cached.get().ttl())) {
+                cacheLoader.refreshAsync(id);
+            }
+            return Optional.of(cached.get().customer());
         }
 
-        // Cache miss - read from database
-        Optional<Customer> fromDb = customerRepository.findById(id);
-        fromDb.ifPresent(customer -> {
-            // Populate cache for next read
-            cacheService.put(customer);
-            log.debug("Customer loaded from database and cached: {}", id);
-        });
+        // Cache miss - read from database and populate cache for next read
+        return cacheLoader.load(id);
+    }
 
-        return fromDb;
+    /**
+     * Finds several customers by ID.
+     * Resolves cached customers with one MGET, loads the misses with one query,
+     * and back-fills the cache in one pipeline.
+     *
+     * @param ids the customer IDs
+     * @return the customers found, in request order without duplicates
+     */
+    @Transactional(readOnly = true)
+    public List<Customer> findAllById(Collection<UUID> ids) {
+        CacheService.MultiGetResult cached = cacheService.getAll(ids);
+        if (cached.misses().isEmpty()) {
+            return List.copyOf(cached.hits().values());
+        }
+
+        // Cache misses - bulk load from database and populate cache for next read
+        Map<UUID, Customer> loaded = new HashMap<>();
+        for (Customer customer : customerRepository.findAllById(cached.misses())) {
+            loaded.put(customer.getId(), customer);
+        }
+        cacheService.putAll(loaded.values());
+        log.debug("Loaded {} of {} uncached customers from database", loaded.size(), cached.misses().size());
+
+        List<Customer> result = new ArrayList<>(cached.hits().size() + loaded.size());
+        for (UUID id : new LinkedHashSet<>(ids)) {
+            Customer customer = cached.hits().containsKey(id) ? cached.hits().get(id) : loaded.get(id);
+            if (customer != null) {
+                result.add(customer);
+            }
+        }
+        return result;
     }
 
     /**
@@ -135,32 +195,35 @@ public class CustomerService {
      * @throws IllegalArgumentException if customer not found
      */
     public Customer updateCustomer(UUID id, String name, String phone, String address) {
-        Customer customer = customerRepository.findById(id)
-                .orElseThrow(() -> new IllegalArgumentException("Customer not found: " + id));
-
-        if (name != null) {
-            customer.setName(name);
-        }
-        if (phone != null) {
-            customer.setPhone(phone);
-        }
-        if (address != null) {
-            customer.setAddress(address);
-        }
-
-        // Update database
-        Customer saved = customerRepository.save(customer);
-        log.info("Updated customer in database: {}", saved.getId());
-
-        // Write-through to cache
-        cacheService.put(saved);
-        log.debug("Updated customer in cache: {}", saved.getId());
-
-        // Sync to search index
-        searchService.index(saved);
-        log.debug("Re-indexed customer: {}", saved.getId());
+        IndexedWrite updated = transactionTemplate.execute(status -> {
+            Customer customer = customerRepository.findById(id)
+                    .orElseThrow(() -> new IllegalArgumentException("Customer not found: " + id));
+
+            if (name != null) {
+                customer.setName(name);
+            }
+            if (phone != null) {
+                customer.setPhone(phone);
+            }
+            if (address != null) {
+                customer.setAddress(address);
+            }
+
+            // Update database
+            Customer saved = customerRepository.save(customer);
+            log.info("Updated customer in database: {}", saved.getId());
+
+            // Write-through to cache
+            cacheService.put(saved);
+            log.debug("Updated customer in cache: {}", saved.getId());
+
+            // Sync to search index once committed
+            return new IndexedWrite(saved, searchService.index(saved, indexRefreshPolicy));
+        });
 
-        return saved;
+        awaitIfRequested(updated.indexing());
+        log.debug("Re-indexed customer: {}", id);
+        return updated.customer();
     }
 
     /**
@@ -171,23 +234,37 @@ public class CustomerService {
      * @throws IllegalArgumentException if customer not found
      */
     public void deleteCustomer(UUID id) {
-        if (!customerRepository.existsById(id)) {
-            throw new IllegalArgumentException("Customer not found: " + id);
-        }
+        CompletableFuture<Void> removal = transactionTemplate.execute(status -> {
+            if (!customerRepository.existsById(id)) {
+                throw new IllegalArgumentException("Customer not found: " + id);
+            }
 
-        // Delete from database
-        customerRepository.deleteById(id);
-        log.info("Deleted customer from database: {}", id);
+            // Delete from database
+            customerRepository.deleteById(id);
+            log.info("Deleted customer from database: {}", id);
 
-        // Evict from cache
-        cacheService.evict(id);
-        log.debug("Evicted customer from cache: {}", id);
+            // Evict from cache
+            cacheService.evict(id);
+            log.debug("Evicted customer from cache: {}", id);
+
+            // Remove from search index once committed
+            return searchService.delete(id, indexRefreshPolicy);
+        });
 
-        // Remove from search index
-        searchService.delete(id);
+        awaitIfRequested(removal);
         log.debug("Removed customer from search index: {}", id);
     }
 
+    /**
+     * Waits for the index write when a refresh policy is configured. Inside a caller's transaction
+     * the write is only queued when that transaction commits, so there is nothing to wait for yet.
+     */
+    private void awaitIfRequested(CompletableFuture<Void> indexing) {
+        if (indexRefreshPolicy != RefreshPolicy.NONE && !TransactionSynchronizationManager.isSynchronizationActive()) {
+            indexing.join();
+        }
+    }
+
     /**
      * Searches customers by name using Elasticsearch.
      *
@@ -257,4 +334,10 @@ public class CustomerService {
     public long getIndexedCount() {
         return searchService.count();
     }
+
+    /**
+     * A committed customer write and its pending search index update.
+     */
+    private record IndexedWrite(Customer customer, CompletableFuture<Void> indexing) {
+    }
 }
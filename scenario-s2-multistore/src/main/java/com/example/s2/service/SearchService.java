@@ -1,120 +1,229 @@
 package com.example.s2.service;
 
+import co.elastic.clients.elasticsearch._types.query_dsl.Operator;
+import co.elastic.clients.elasticsearch._types.query_dsl.TextQueryType;
 import com.example.s2.domain.Customer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.elasticsearch.client.elc.ElasticsearchTemplate;
+import org.springframework.data.elasticsearch.client.elc.NativeQuery;
+import org.springframework.data.elasticsearch.core.RefreshPolicy;
 import org.springframework.data.elasticsearch.core.SearchHit;
 import org.springframework.data.elasticsearch.core.SearchHits;
-import org.springframework.data.elasticsearch.core.document.Document;
+import org.springframework.data.elasticsearch.core.TotalHitsRelation;
 import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
 import org.springframework.data.elasticsearch.core.query.Criteria;
 import org.springframework.data.elasticsearch.core.query.CriteriaQuery;
-import org.springframework.data.elasticsearch.core.query.IndexQuery;
-import org.springframework.data.elasticsearch.core.query.IndexQueryBuilder;
+import org.springframework.data.elasticsearch.core.query.FetchSourceFilter;
+import org.springframework.data.elasticsearch.core.query.Query;
+import org.springframework.data.elasticsearch.core.query.SourceFilter;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Service for Elasticsearch search operations.
  * Manages indexing and searching of Customer entities.
+ * Reads and writes use the {@code customers} alias managed by {@link CustomerIndexManager}.
+ * Writes go through {@link CustomerIndexingPipeline} and become searchable after the next
+ * index refresh, unless the caller asks for {@link RefreshPolicy#WAIT_UNTIL}.
  */
 @Service
 public class SearchService {
 
     private static final Logger log = LoggerFactory.getLogger(SearchService.class);
-    private static final String INDEX_NAME = "customers";
-    private static final IndexCoordinates INDEX_COORDINATES = IndexCoordinates.of(INDEX_NAME);
+    private static final IndexCoordinates INDEX_COORDINATES = IndexCoordinates.of(CustomerIndexManager.ALIAS);
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final Sort STABLE_SORT = Sort.by(Sort.Order.desc("_score"), Sort.Order.asc("id"));
+    private static final SourceFilter RESULT_FIELDS =
+            new FetchSourceFilter(new String[] {"id", "name", "email", "address"}, new String[0]);
+    private static final List<String> NAME_FIELDS = List.of("name^2", "name.autocomplete");
+    private static final List<String> FULL_TEXT_FIELDS =
+            List.of("name^2", "name.autocomplete", "email.text", "address");
 
     private final ElasticsearchTemplate elasticsearchTemplate;
+    private final CustomerIndexingPipeline indexingPipeline;
+    private final CustomerIndexManager indexManager;
+    private final int defaultPageSize;
+    private final int trackTotalHitsUpTo;
 
-    public SearchService(ElasticsearchTemplate elasticsearchTemplate) {
+    public SearchService(ElasticsearchTemplate elasticsearchTemplate,
+                         CustomerIndexingPipeline indexingPipeline,
+                         CustomerIndexManager indexManager,
+                         @Value("${app.customers.search.page-size:20}") int defaultPageSize,
+                         @Value("${app.customers.search.track-total-hits-up-to:1000}") int trackTotalHitsUpTo) {
         this.elasticsearchTemplate = elasticsearchTemplate;
-        ensureIndexExists();
+        this.indexingPipeline = indexingPipeline;
+        this.indexManager = indexManager;
+        this.defaultPageSize = defaultPageSize;
+        this.trackTotalHitsUpTo = trackTotalHitsUpTo;
+        indexManager.initialize();
     }
 
     /**
-     * Indexes a customer in Elasticsearch.
+     * Queues a customer for indexing in Elasticsearch.
      *
      * @param customer the customer to index
+     * @return completes when the document has been written
      */
-    public void index(Customer customer) {
-        IndexQuery indexQuery = new IndexQueryBuilder()
-                .withId(customer.getId().toString())
-                .withObject(customerToDocument(customer))
-                .build();
+    public CompletableFuture<Void> index(Customer customer) {
+        return index(customer, RefreshPolicy.NONE);
+    }
 
-        elasticsearchTemplate.index(indexQuery, INDEX_COORDINATES);
-        elasticsearchTemplate.indexOps(INDEX_COORDINATES).refresh();
-        log.debug("Indexed customer: {}", customer.getId());
+    /**
+     * Queues a customer for indexing in Elasticsearch.
+     *
+     * @param customer      the customer to index
+     * @param refreshPolicy {@link RefreshPolicy#WAIT_UNTIL} to complete only once the document is searchable
+     * @return completes when the document has been written
+     */
+    public CompletableFuture<Void> index(Customer customer, RefreshPolicy refreshPolicy) {
+        log.debug("Queued customer for indexing: {}", customer.getId());
+        return indexingPipeline.index(customer.getId(), toDocument(customer), refreshPolicy);
     }
 
     /**
-     * Removes a customer from the search index.
+     * Queues removal of a customer from the search index.
      *
      * @param id the customer ID
+     * @return completes when the document has been deleted
      */
-    public void delete(UUID id) {
-        String deletedId = elasticsearchTemplate.delete(id.toString(), INDEX_COORDINATES);
-        if (deletedId != null) {
-            elasticsearchTemplate.indexOps(INDEX_COORDINATES).refresh();
-            log.debug("Deleted customer from index: {}", id);
-        }
+    public CompletableFuture<Void> delete(UUID id) {
+        return delete(id, RefreshPolicy.NONE);
+    }
+
+    /**
+     * Queues removal of a customer from the search index.
+     *
+     * @param id            the customer ID
+     * @param refreshPolicy {@link RefreshPolicy#WAIT_UNTIL} to complete only once the deletion is visible to search
+     * @return completes when the document has been deleted
+     */
+    public CompletableFuture<Void> delete(UUID id, RefreshPolicy refreshPolicy) {
+        log.debug("Queued customer for removal from index: {}", id);
+        return indexingPipeline.delete(id, refreshPolicy);
     }
 
     /**
      * Searches customers by name.
      *
      * @param name the name to search for
-     * @return list of matching customers
+     * @return the first page of matching customers
      */
     public List<CustomerSearchResult> searchByName(String name) {
-        Criteria criteria = new Criteria("name").contains(name);
-        CriteriaQuery query = new CriteriaQuery(criteria);
+        return searchByName(name, defaultPageSize, null).results();
+    }
 
-        SearchHits<CustomerDocument> hits = elasticsearchTemplate.search(query, CustomerDocument.class, INDEX_COORDINATES);
-        return hits.getSearchHits().stream()
-                .map(this::toSearchResult)
-                .collect(Collectors.toList());
+    /**
+     * Searches customers by name, one page at a time.
+     * Every word of the input must match a word of the name or, via {@code name.autocomplete},
+     * be a prefix of one; whole-word matches score higher.
+     *
+     * @param name        the name to search for
+     * @param size        the page size, capped at {@value #MAX_PAGE_SIZE}
+     * @param searchAfter {@link SearchPage#nextSearchAfter()} of the previous page, or null for the first page
+     * @return a page of matching customers
+     */
+    public SearchPage searchByName(String name, int size, List<Object> searchAfter) {
+        NativeQuery query = NativeQuery.builder()
+                .withQuery(q -> q.multiMatch(m -> m
+                        .query(name)
+                        .fields(NAME_FIELDS)
+                        .type(TextQueryType.MostFields)
+                        .operator(Operator.And)))
+                .build();
+        return searchPage(query, size, searchAfter);
     }
 
     /**
      * Searches customers by email.
      *
      * @param email the email to search for
-     * @return list of matching customers
+     * @return the first page of matching customers
      */
     public List<CustomerSearchResult> searchByEmail(String email) {
-        Criteria criteria = new Criteria("email").is(email);
-        CriteriaQuery query = new CriteriaQuery(criteria);
+        return searchByEmail(email, defaultPageSize, null).results();
+    }
 
-        SearchHits<CustomerDocument> hits = elasticsearchTemplate.search(query, CustomerDocument.class, INDEX_COORDINATES);
-        return hits.getSearchHits().stream()
-                .map(this::toSearchResult)
-                .collect(Collectors.toList());
+    /**
+     * Searches customers by email, one page at a time.
+     *
+     * @param email       the email to search for
+     * @param size        the page size, capped at {@value #MAX_PAGE_SIZE}
+     * @param searchAfter {@link SearchPage#nextSearchAfter()} of the previous page, or null for the first page
+     * @return a page of matching customers
+     */
+    public SearchPage searchByEmail(String email, int size, List<Object> searchAfter) {
+        return searchPage(new CriteriaQuery(new Criteria("email").is(email)), size, searchAfter);
     }
 
     /**
      * Full-text search across name, email, and address.
      *
      * @param searchTerm the term to search for
-     * @return list of matching customers
+     * @return the first page of matching customers
      */
     public List<CustomerSearchResult> fullTextSearch(String searchTerm) {
-        Criteria criteria = new Criteria("name").contains(searchTerm)
-                .or(new Criteria("email").contains(searchTerm))
-                .or(new Criteria("address").contains(searchTerm));
-        CriteriaQuery query = new CriteriaQuery(criteria);
+        return fullTextSearch(searchTerm, defaultPageSize, null).results();
+    }
+
+    /**
+     * Full-text search across name, email, and address, one page at a time.
+     * Every word must match in one of the fields, so "alice main" finds Alice on Main Street;
+     * name words may be prefixes.
+     *
+     * @param searchTerm  the term to search for
+     * @param size        the page size, capped at {@value #MAX_PAGE_SIZE}
+     * @param searchAfter {@link SearchPage#nextSearchAfter()} of the previous page, or null for the first page
+     * @return a page of matching customers
+     */
+    public SearchPage fullTextSearch(String searchTerm, int size, List<Object> searchAfter) {
+        NativeQuery query = NativeQuery.builder()
+                .withQuery(q -> q.multiMatch(m -> m
+                        .query(searchTerm)
+                        .fields(FULL_TEXT_FIELDS)
+                        .type(TextQueryType.CrossFields)
+                        .operator(Operator.And)))
+                .build();
+        return searchPage(query, size, searchAfter);
+    }
+
+    /**
+     * Runs a query for one page sorted by score with the customer ID as tie-breaker.
+     * Paging uses search_after on that sort, so deep pages cost the same as the first one,
+     * and only the fields of {@link CustomerSearchResult} are fetched from {@code _source}.
+     */
+    private SearchPage searchPage(Query query, int size, List<Object> searchAfter) {
+        int pageSize = Math.clamp(size, 1, MAX_PAGE_SIZE);
+        query.setPageable(PageRequest.of(0, pageSize, STABLE_SORT));
+        query.addSourceFilter(RESULT_FIELDS);
+        if (trackTotalHitsUpTo > 0) {
+            query.setTrackTotalHitsUpTo(trackTotalHitsUpTo);
+        } else {
+            query.setTrackTotalHits(false);
+        }
+        if (searchAfter != null && !searchAfter.isEmpty()) {
+            query.setSearchAfter(searchAfter);
+        }
 
         SearchHits<CustomerDocument> hits = elasticsearchTemplate.search(query, CustomerDocument.class, INDEX_COORDINATES);
-        return hits.getSearchHits().stream()
-                .map(this::toSearchResult)
-                .collect(Collectors.toList());
+        List<SearchHit<CustomerDocument>> pageHits = hits.getSearchHits();
+        List<Object> nextSearchAfter = pageHits.size() == pageSize
+                ? pageHits.get(pageHits.size() - 1).getSortValues()
+                : null;
+        return new SearchPage(
+                pageHits.stream().map(this::toSearchResult).toList(),
+                nextSearchAfter,
+                hits.getTotalHits(),
+                hits.getTotalHitsRelation()
+        );
     }
 
     /**
@@ -157,34 +266,26 @@ public class SearchService {
     }
 
     /**
-     * Clears all documents from the index.
+     * Clears all documents by swapping the alias to a new, empty index.
      * Use with caution - mainly for testing purposes.
      */
     public void clearAll() {
-        if (elasticsearchTemplate.indexOps(INDEX_COORDINATES).exists()) {
-            elasticsearchTemplate.indexOps(INDEX_COORDINATES).delete();
-            ensureIndexExists();
-            log.info("Cleared all documents from customers index");
-        }
+        awaitPendingWrites();
+        String index = indexManager.resetToEmptyIndex();
+        log.info("Cleared all documents from customers index, now served by {}", index);
     }
 
-    private void ensureIndexExists() {
-        if (!elasticsearchTemplate.indexOps(INDEX_COORDINATES).exists()) {
-            elasticsearchTemplate.indexOps(INDEX_COORDINATES).create();
-            Document mapping = Document.create();
-            mapping.put("properties", Map.of(
-                    "id", Map.of("type", "keyword"),
-                    "name", Map.of("type", "text"),
-                    "email", Map.of("type", "keyword"),
-                    "phone", Map.of("type", "keyword"),
-                    "address", Map.of("type", "text")
-            ));
-            elasticsearchTemplate.indexOps(INDEX_COORDINATES).putMapping(mapping);
-            log.info("Created customers index with mapping");
+    private void awaitPendingWrites() {
+        try {
+            if (!indexingPipeline.awaitIdle(Duration.ofSeconds(30))) {
+                log.warn("Index operations still pending while clearing customers index");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
         }
     }
 
-    private CustomerDocument customerToDocument(Customer customer) {
+    static CustomerDocument toDocument(Customer customer) {
         CustomerDocument doc = new CustomerDocument();
         doc.id = customer.getId().toString();
         doc.name = customer.getName();
@@ -216,6 +317,21 @@ public class SearchService {
         public String address;
     }
 
+    /**
+     * One page of search results.
+     *
+     * @param results           the hits of this page, best first
+     * @param nextSearchAfter   sort values to pass for the next page, or null if this is the last page
+     * @param totalHits         number of matches, exact up to the tracking limit
+     * @param totalHitsRelation whether {@code totalHits} is exact, a lower bound, or not tracked
+     */
+    public record SearchPage(
+            List<CustomerSearchResult> results,
+            List<Object> nextSearchAfter,
+            long totalHits,
+            TotalHitsRelation totalHitsRelation
+    ) {}
+
     /**
      * Search result DTO.
      */
@@ -0,0 +1,115 @@
+package com.example.s2.service.codec;
+
+import com.example.s2.domain.Customer;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Compact fixed-order binary customer codec.
+ *
+ * Layout: id (16 bytes), name, email, phone, address (each an unsigned short length,
+ * 0xFFFF for null, followed by UTF-8 bytes), createdAt and updatedAt (epoch seconds as long
+ * plus nanos as int). Changing the layout requires a new codec ID.
+ */
+public class BinaryCustomerCodec implements CustomerCodec {
+
+    public static final int ID = 2;
+
+    private static final int NULL_LENGTH = 0xFFFF;
+    private static final int FIXED_SIZE = 16 + 4 * 2 + 2 * (8 + 4);
+
+    @Override
+    public int id() {
+        return ID;
+    }
+
+    @Override
+    public byte[] encode(Customer customer) {
+        byte[] name = utf8(customer.getName());
+        byte[] email = utf8(customer.getEmail());
+        byte[] phone = utf8(customer.getPhone());
+        byte[] address = utf8(customer.getAddress());
+
+        ByteBuffer buffer = ByteBuffer.allocate(FIXED_SIZE + length(name) + length(email) + length(phone) + length(address));
+        buffer.putLong(customer.getId().getMostSignificantBits());
+        buffer.putLong(customer.getId().getLeastSignificantBits());
+        putString(buffer, name);
+        putString(buffer, email);
+        putString(buffer, phone);
+        putString(buffer, address);
+        putInstant(buffer, customer.getCreatedAt());
+        putInstant(buffer, customer.getUpdatedAt());
+        return buffer.array();
+    }
+
+    @Override
+    public Customer decode(byte[] data, int offset, int length) {
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(data, offset, length);
+            Customer customer = new Customer(new UUID(buffer.getLong(), buffer.getLong()));
+            customer.setName(getString(buffer));
+            customer.setEmail(getString(buffer));
+            customer.setPhone(getString(buffer));
+            customer.setAddress(getString(buffer));
+            // Timestamps last: the setters above touch updatedAt
+            customer.setCreatedAt(getInstant(buffer));
+            customer.setUpdatedAt(getInstant(buffer));
+            return customer;
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Truncated binary customer", e);
+        } catch (DateTimeException | ArithmeticException e) {
+            throw new IllegalArgumentException("Invalid timestamp in binary customer", e);
+        }
+    }
+
+    private static byte[] utf8(String value) {
+        if (value == null) {
+            return null;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length >= NULL_LENGTH) {
+            throw new IllegalArgumentException("Customer field too long for binary codec: " + bytes.length + " bytes");
+        }
+        return bytes;
+    }
+
+    private static int length(byte[] bytes) {
+        return bytes == null ? 0 : bytes.length;
+    }
+
+    private static void putString(ByteBuffer buffer, byte[] bytes) {
+        if (bytes == null) {
+            buffer.putShort((short) NULL_LENGTH);
+        } else {
+            buffer.putShort((short) bytes.length);
+            buffer.put(bytes);
+        }
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        int length = Short.toUnsignedInt(buffer.getShort());
+        if (length == NULL_LENGTH) {
+            return null;
+        }
+        if (length > buffer.remaining()) {
+            throw new BufferUnderflowException();
+        }
+        String value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length, StandardCharsets.UTF_8);
+        buffer.position(buffer.position() + length);
+        return value;
+    }
+
+    private static void putInstant(ByteBuffer buffer, Instant instant) {
+        buffer.putLong(instant.getEpochSecond());
+        buffer.putInt(instant.getNano());
+    }
+
+    private static Instant getInstant(ByteBuffer buffer) {
+        return Instant.ofEpochSecond(buffer.getLong(), buffer.getInt());
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.s2.service.codec;
+
+/**
+ * Compression applied to encoded cache values above the configured size threshold.
+ */
+public enum CacheCompression {
+
+    /** Values are stored as encoded. */
+    NONE,
+
+    /** LZ4 block compression; fast enough to stay below the Redis round trip. */
+    LZ4
+}
@@ -0,0 +1,153 @@
+package com.example.s2.service.codec;
+
+import com.example.s2.domain.Customer;
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Exception;
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4SafeDecompressor;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Encodes cache values as a one-byte header followed by the codec payload.
+ *
+ * Header bits 0-3 hold the codec ID and bit 7 marks an LZ4-compressed payload, which is
+ * preceded by its uncompressed length as an int. Values are always written with the configured
+ * codec but read with whichever codec the header names, so the write format can be switched
+ * without flushing the cache. Values starting with {@code '{'} are headerless JSON written
+ * before the header existed. Compressed values are decoded defensively: the stored length is
+ * bounded by {@link #MAX_DECOMPRESSED_BYTES} and checked against what LZ4 actually produced.
+ */
+public class CustomerCacheCodec {
+
+    private static final int CODEC_MASK = 0x0F;
+    private static final int COMPRESSED_FLAG = 0x80;
+    private static final byte LEGACY_JSON_START = '{';
+
+    /** Far above any real customer, but small enough that a corrupt length cannot exhaust the heap. */
+    static final int MAX_DECOMPRESSED_BYTES = 1024 * 1024;
+
+    private final CustomerCodec[] codecsById = new CustomerCodec[CODEC_MASK + 1];
+    private final CustomerCodec writeCodec;
+    private final CacheCompression compression;
+    private final int compressionThreshold;
+    private final LZ4Compressor compressor;
+    private final LZ4SafeDecompressor decompressor;
+
+    /**
+     * Creates a codec for the given write format.
+     *
+     * @param codecs               every codec that may appear in stored values
+     * @param writeCodecId         ID of the codec used for new values
+     * @param compression          compression for large values
+     * @param compressionThreshold encoded size in bytes from which values are compressed
+     */
+    public CustomerCacheCodec(List<CustomerCodec> codecs, int writeCodecId,
+                              CacheCompression compression, int compressionThreshold) {
+        for (CustomerCodec codec : codecs) {
+            if (codec.id() < 1 || codec.id() > CODEC_MASK) {
+                throw new IllegalArgumentException("Codec ID out of range: " + codec.id());
+            }
+            codecsById[codec.id()] = codec;
+        }
+        if (codecsById[writeCodecId] == null) {
+            throw new IllegalArgumentException("Unknown codec ID: " + writeCodecId);
+        }
+        this.writeCodec = codecsById[writeCodecId];
+        this.compression = compression;
+        this.compressionThreshold = compressionThreshold;
+        LZ4Factory lz4 = LZ4Factory.fastestInstance();
+        this.compressor = lz4.fastCompressor();
+        this.decompressor = lz4.safeDecompressor();
+    }
+
+    /**
+     * Creates a codec that reads JSON and binary values.
+     *
+     * @param writeFormat          format for new values: {@code json} or {@code binary}
+     * @param compression          compression for large values
+     * @param compressionThreshold encoded size in bytes from which values are compressed
+     * @return the cache codec
+     */
+    public static CustomerCacheCodec of(String writeFormat, CacheCompression compression, int compressionThreshold) {
+        int writeCodecId = switch (writeFormat) {
+            case "json" -> JsonCustomerCodec.ID;
+            case "binary" -> BinaryCustomerCodec.ID;
+            default -> throw new IllegalArgumentException("Unknown cache value format: " + writeFormat);
+        };
+        return new CustomerCacheCodec(
+            List.of(new JsonCustomerCodec(), new BinaryCustomerCodec()), writeCodecId, compression, compressionThreshold);
+    }
+
+    /**
+     * Encodes a customer with the write codec, compressing it if it reaches the threshold.
+     *
+     * @param customer the customer
+     * @return the cache value
+     */
+    public byte[] encode(Customer customer) {
+        byte[] payload = writeCodec.encode(customer);
+        if (compression == CacheCompression.LZ4 && payload.length >= compressionThreshold) {
+            int maxLength = compressor.maxCompressedLength(payload.length);
+            byte[] value = new byte[1 + 4 + maxLength];
+            value[0] = (byte) (writeCodec.id() | COMPRESSED_FLAG);
+            ByteBuffer.wrap(value, 1, 4).putInt(payload.length);
+            int compressedLength = compressor.compress(payload, 0, payload.length, value, 5, maxLength);
+            // Only keep the compressed form if it is actually smaller
+            if (compressedLength + 4 < payload.length) {
+                return Arrays.copyOf(value, 5 + compressedLength);
+            }
+        }
+        byte[] value = new byte[1 + payload.length];
+        value[0] = (byte) writeCodec.id();
+        System.arraycopy(payload, 0, value, 1, payload.length);
+        return value;
+    }
+
+    /**
+     * Decodes a cache value written by any known codec.
+     *
+     * @param value the cache value
+     * @return the customer
+     * @throws IllegalArgumentException if the value is empty, corrupt or uses an unknown codec
+     */
+    public Customer decode(byte[] value) {
+        if (value.length == 0) {
+            throw new IllegalArgumentException("Empty cache value");
+        }
+        if (value[0] == LEGACY_JSON_START) {
+            return codecsById[JsonCustomerCodec.ID].decode(value, 0, value.length);
+        }
+
+        int header = value[0] & 0xFF;
+        CustomerCodec codec = codecsById[header & CODEC_MASK];
+        if (codec == null || (header & ~(CODEC_MASK | COMPRESSED_FLAG)) != 0) {
+            throw new IllegalArgumentException("Unknown cache value header: " + header);
+        }
+        if ((header & COMPRESSED_FLAG) == 0) {
+            return codec.decode(value, 1, value.length - 1);
+        }
+
+        if (value.length < 5) {
+            throw new IllegalArgumentException("Truncated compressed cache value");
+        }
+        int length = ByteBuffer.wrap(value, 1, 4).getInt();
+        if (length < 0 || length > MAX_DECOMPRESSED_BYTES) {
+            throw new IllegalArgumentException("Compressed cache value length out of range: " + length);
+        }
+        byte[] payload = new byte[length];
+        int decompressed;
+        try {
+            decompressed = decompressor.decompress(value, 5, value.length - 5, payload, 0, length);
+        } catch (LZ4Exception e) {
+            throw new IllegalArgumentException("Corrupt compressed cache value", e);
+        }
+        if (decompressed != length) {
+            throw new IllegalArgumentException("Compressed cache value decoded to " + decompressed
+                + " bytes, expected " + length);
+        }
+        return codec.decode(payload, 0, length);
+    }
+}
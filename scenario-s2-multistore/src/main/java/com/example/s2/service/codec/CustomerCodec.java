@@ -0,0 +1,37 @@
+package com.example.s2.service.codec;
+
+import com.example.s2.domain.Customer;
+
+/**
+ * Serialization format for cached customers.
+ * Each codec has a stable ID that is written in the cache value header,
+ * so values written by any registered codec stay readable when the write format changes.
+ */
+public interface CustomerCodec {
+
+    /**
+     * Returns the ID stored in the value header; must be between 1 and 15.
+     *
+     * @return the codec ID
+     */
+    int id();
+
+    /**
+     * Encodes a customer.
+     *
+     * @param customer the customer
+     * @return the encoded bytes, without header
+     */
+    byte[] encode(Customer customer);
+
+    /**
+     * Decodes a customer.
+     *
+     * @param data   buffer holding the encoded customer
+     * @param offset start of the encoded customer
+     * @param length number of encoded bytes
+     * @return the decoded customer
+     * @throws IllegalArgumentException if the bytes are not a valid encoding
+     */
+    Customer decode(byte[] data, int offset, int length);
+}
@@ -0,0 +1,46 @@
+package com.example.s2.service.codec;
+
+import com.example.s2.domain.Customer;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import java.io.IOException;
+
+/**
+ * JSON customer codec, matching the format the cache originally stored as plain strings.
+ */
+public class JsonCustomerCodec implements CustomerCodec {
+
+    public static final int ID = 1;
+
+    private final ObjectMapper objectMapper;
+
+    public JsonCustomerCodec() {
+        this.objectMapper = new ObjectMapper();
+        this.objectMapper.registerModule(new JavaTimeModule());
+    }
+
+    @Override
+    public int id() {
+        return ID;
+    }
+
+    @Override
+    public byte[] encode(Customer customer) {
+        try {
+            return objectMapper.writeValueAsBytes(customer);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Failed to serialize customer: " + customer.getId(), e);
+        }
+    }
+
+    @Override
+    public Customer decode(byte[] data, int offset, int length) {
+        try {
+            return objectMapper.readValue(data, offset, length, Customer.class);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Invalid JSON customer", e);
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.example.s2;
+
+import com.example.s2.domain.Customer;
+import com.example.s2.service.CustomerService;
+import com.example.s2.service.SearchService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.elasticsearch.core.RefreshPolicy;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Integration tests for the asynchronous bulk indexing pipeline.
+ *
+ * Validates:
+ * - Many writes are sent in few _bulk requests
+ * - wait_until gives read-your-writes without a forced refresh per document
+ * - Latest write wins when one customer is queued several times
+ * - Writes inside a transaction are queued on commit and dropped on rollback
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class BulkIndexingIT extends S2IntegrationTestBase {
+
+    private static final int DOCUMENTS = 1_000;
+
+    @Autowired
+    private SearchService searchService;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        searchService.clearAll();
+    }
+
+    @Test
+    @DisplayName("Queued writes should be sent as a few bulk requests")
+    void index_manyDocuments_shouldBatchIntoBulkRequests() {
+        // Given
+        long bulkBefore = meterRegistry.get("customers.index.bulk").timer().count();
+        List<Customer> customers = IntStream.range(0, DOCUMENTS)
+                .mapToObj(i -> customer("Bulk " + i))
+                .toList();
+
+        // When
+        CompletableFuture<?>[] writes = customers.stream()
+                .map(searchService::index)
+                .toArray(CompletableFuture[]::new);
+        CompletableFuture.allOf(writes).orTimeout(30, TimeUnit.SECONDS).join();
+
+        // Then - 批次數遠少於文件數
+        long bulkRequests = meterRegistry.get("customers.index.bulk").timer().count() - bulkBefore;
+        assertThat(bulkRequests).isGreaterThanOrEqualTo(DOCUMENTS / 500).isLessThan(DOCUMENTS / 10);
+        await().atMost(5, TimeUnit.SECONDS)
+                .untilAsserted(() -> assertThat(searchService.count()).isEqualTo(DOCUMENTS));
+    }
+
+    @Test
+    @DisplayName("wait_until should make the document searchable once the future completes")
+    void index_waitUntil_shouldBeSearchableOnCompletion() {
+        // Given
+        Customer customer = customer("Read Your Writes");
+
+        // When
+        searchService.index(customer, RefreshPolicy.WAIT_UNTIL).orTimeout(10, TimeUnit.SECONDS).join();
+
+        // Then - 不需等待即可搜尋
+        assertThat(searchService.searchByEmail(customer.getEmail()))
+                .extracting(SearchService.CustomerSearchResult::id)
+                .containsExactly(customer.getId());
+    }
+
+    @Test
+    @DisplayName("Repeated writes for one customer should keep the latest version")
+    void index_repeatedWrites_shouldKeepLatest() {
+        // Given
+        Customer customer = customer("Version 0");
+
+        // When
+        CompletableFuture<Void> last = null;
+        for (int i = 1; i <= 10; i++) {
+            customer.setName("Version " + i);
+            last = searchService.index(customer);
+        }
+        last.orTimeout(10, TimeUnit.SECONDS).join();
+
+        // Then
+        assertThat(searchService.findById(customer.getId()))
+                .get()
+                .extracting(SearchService.CustomerSearchResult::name)
+                .isEqualTo("Version 10");
+    }
+
+    @Test
+    @DisplayName("Deleting a customer should remove the document asynchronously")
+    void deleteCustomer_shouldRemoveDocument() {
+        // Given
+        Customer created = customerService.createCustomer(
+                "Async Delete", "async.delete." + UUID.randomUUID() + "@example.com", null, null);
+        await().atMost(5, TimeUnit.SECONDS)
+                .untilAsserted(() -> assertThat(searchService.isIndexed(created.getId())).isTrue());
+
+        // When
+        customerService.deleteCustomer(created.getId());
+
+        // Then
+        await().atMost(5, TimeUnit.SECONDS)
+                .untilAsserted(() -> assertThat(searchService.isIndexed(created.getId())).isFalse());
+    }
+
+    @Test
+    @DisplayName("Writes inside a transaction should be queued on commit and cancelled on rollback")
+    void index_insideTransaction_shouldFollowOutcome() {
+        // Given
+        Customer committed = customer("Committed");
+        Customer rolledBack = customer("Rolled Back");
+
+        // When
+        CompletableFuture<Void> afterCommit = transactionTemplate.execute(status -> {
+            CompletableFuture<Void> write = searchService.index(committed, RefreshPolicy.WAIT_UNTIL);
+            // 提交前不會送出
+            assertThat(write).isNotDone();
+            return write;
+        });
+        CompletableFuture<Void> afterRollback = transactionTemplate.execute(status -> {
+            status.setRollbackOnly();
+            return searchService.index(rolledBack, RefreshPolicy.WAIT_UNTIL);
+        });
+
+        // Then
+        afterCommit.orTimeout(10, TimeUnit.SECONDS).join();
+        assertThat(searchService.isIndexed(committed.getId())).isTrue();
+        assertThatThrownBy(afterRollback::join).isInstanceOf(CancellationException.class);
+        assertThat(searchService.isIndexed(rolledBack.getId())).isFalse();
+    }
+
+    private Customer customer(String name) {
+        Customer customer = new Customer(UUID.randomUUID(), name, "bulk." + UUID.randomUUID() + "@example.com");
+        customer.setCreatedAt(Instant.now());
+        customer.setUpdatedAt(Instant.now());
+        return customer;
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.s2;
+
+import com.example.s2.domain.Customer;
+import com.example.s2.service.CacheService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Integration tests for generation-based cache invalidation.
+ *
+ * Validates:
+ * - Flushing by advancing the namespace generation
+ * - Entries written after a flush are visible
+ * - Flushes made by another node are picked up after the refresh interval
+ */
+@SpringBootTest(properties = {
+        "app.customers.cache.invalidation=generation",
+        "app.customers.cache.generation-refresh-ms=100"
+})
+@ActiveProfiles("test")
+class CacheGenerationIT extends S2IntegrationTestBase {
+
+    @Autowired
+    private CacheService cacheService;
+
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+
+    @BeforeEach
+    void setUp() {
+        cacheService.clearAll();
+    }
+
+    @Test
+    @DisplayName("Clear should hide all entries without deleting keys")
+    void clearAll_shouldHideEntriesOfPreviousGeneration() {
+        // Given
+        Customer customer = customer();
+        cacheService.put(customer);
+        assertThat(cacheService.get(customer.getId())).isPresent();
+
+        // When
+        cacheService.clearAll();
+
+        // Then - 舊世代的鍵仍在，等 TTL 到期
+        assertThat(cacheService.get(customer.getId())).isEmpty();
+        assertThat(cacheService.exists(customer.getId())).isFalse();
+        assertThat(redisTemplate.keys("customer:g*:" + customer.getId())).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Entries written after clear should be readable")
+    void put_afterClear_shouldBeReadable() {
+        // Given
+        cacheService.clearAll();
+        Customer customer = customer();
+
+        // When
+        cacheService.put(customer);
+
+        // Then
+        assertThat(cacheService.get(customer.getId())).isPresent();
+        assertThat(cacheService.getTtl(customer.getId())).isPresent();
+    }
+
+    @Test
+    @DisplayName("Generation advanced by another node should be picked up")
+    void remoteGenerationChange_shouldInvalidateCache() {
+        // Given
+        Customer customer = customer();
+        cacheService.put(customer);
+        assertThat(cacheService.get(customer.getId())).isPresent();
+
+        // When - 模擬其他節點清除快取
+        redisTemplate.opsForValue().increment(CacheService.GENERATION_KEY);
+
+        // Then
+        await().atMost(5, TimeUnit.SECONDS)
+            .untilAsserted(() -> assertThat(cacheService.get(customer.getId())).isEmpty());
+    }
+
+    private Customer customer() {
+        Customer customer = new Customer(UUID.randomUUID(), "Generation", "gen." + UUID.randomUUID() + "@example.com");
+        customer.setCreatedAt(Instant.now());
+        customer.setUpdatedAt(Instant.now());
+        return customer;
+    }
+}
@@ -0,0 +1,150 @@
+package com.example.s2;
+
+import com.example.s2.domain.Customer;
+import com.example.s2.service.CacheService;
+import com.example.s2.service.CustomerService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Integration tests for cache stampede protection.
+ *
+ * Validates:
+ * - Concurrent misses for one customer share a database load
+ * - Default TTLs are jittered
+ * - Hits close to expiry trigger a background refresh
+ */
+@SpringBootTest(properties = "app.customers.cache.early-refresh-beta=1000000000")
+@ActiveProfiles("test")
+class CacheStampedeIT extends S2IntegrationTestBase {
+
+    private static final int CONCURRENT_READERS = 32;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private CacheService cacheService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        cacheService.clearAll();
+    }
+
+    @Test
+    @DisplayName("Concurrent misses should be coalesced into fewer database loads")
+    void findById_concurrentMisses_shouldCoalesceLoads() throws Exception {
+        // Given
+        Customer customer = createCustomer("Stampede");
+        cacheService.evict(customer.getId());
+        double loadedBefore = loads("loaded");
+        double coalescedBefore = loads("coalesced");
+
+        // When - 所有讀取者同時起跑
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Optional<Customer>>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(CONCURRENT_READERS)) {
+            for (int i = 0; i < CONCURRENT_READERS; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return customerService.findById(customer.getId());
+                }));
+            }
+            start.countDown();
+            for (Future<Optional<Customer>> result : results) {
+                assertThat(result.get(10, TimeUnit.SECONDS)).isPresent();
+            }
+        }
+
+        // Then
+        double loaded = loads("loaded") - loadedBefore;
+        double coalesced = loads("coalesced") - coalescedBefore;
+        assertThat(loaded).isGreaterThanOrEqualTo(1).isLessThan(CONCURRENT_READERS);
+        assertThat(coalesced).isPositive();
+        assertThat(customerService.isCached(customer.getId())).isTrue();
+    }
+
+    @Test
+    @DisplayName("Default TTL should be jittered across entries")
+    void putAll_shouldJitterTtl() {
+        // Given
+        List<Customer> customers = IntStream.range(0, 50)
+                .mapToObj(i -> {
+                    Customer customer = new Customer(UUID.randomUUID(), "Jitter " + i, "jitter." + i + "@example.com");
+                    customer.setCreatedAt(Instant.now());
+                    customer.setUpdatedAt(Instant.now());
+                    return customer;
+                })
+                .toList();
+
+        // When
+        cacheService.putAll(customers);
+
+        // Then - TTL 分散在預設值 ±10% 之間
+        List<Duration> ttls = customers.stream()
+                .map(customer -> cacheService.getEntry(customer.getId()).orElseThrow().ttl())
+                .toList();
+        assertThat(ttls).allSatisfy(ttl -> assertThat(ttl).isBetween(Duration.ofMinutes(26), Duration.ofMinutes(34)));
+        assertThat(ttls.stream().distinct().count()).isGreaterThan(1);
+    }
+
+    @Test
+    @DisplayName("Hit close to expiry should refresh the entry in the background")
+    void findById_nearExpiry_shouldRefreshEarly() {
+        // Given - 先從資料庫載入一次以取得載入耗時，再讓快取即將過期
+        Customer customer = createCustomer("Early Refresh");
+        cacheService.evict(customer.getId());
+        customerService.findById(customer.getId());
+        cacheService.put(customer, Duration.ofSeconds(5));
+        double refreshesBefore = meterRegistry.get("customers.cache.early_refreshes").counter().count();
+
+        // When
+        Optional<Customer> found = customerService.findById(customer.getId());
+
+        // Then
+        assertThat(found).isPresent();
+        await().atMost(5, TimeUnit.SECONDS).untilAsserted(() -> {
+            assertThat(meterRegistry.get("customers.cache.early_refreshes").counter().count())
+                .isGreaterThan(refreshesBefore);
+            assertThat(cacheService.getTtl(customer.getId())).get()
+                .satisfies(ttl -> assertThat(ttl).isGreaterThan(Duration.ofMinutes(20)));
+        });
+    }
+
+    private Customer createCustomer(String name) {
+        return customerService.createCustomer(
+                name,
+                "stampede." + UUID.randomUUID() + "@example.com",
+                null,
+                null
+        );
+    }
+
+    private double loads(String result) {
+        return meterRegistry.get("customers.cache.loads").tag("result", result).counter().count();
+    }
+}
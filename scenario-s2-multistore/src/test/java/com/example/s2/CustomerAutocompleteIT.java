@@ -0,0 +1,102 @@
+package com.example.s2;
+
+import com.example.s2.domain.Customer;
+import com.example.s2.service.SearchService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.elasticsearch.core.RefreshPolicy;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for analyzed customer search.
+ *
+ * Validates:
+ * - Name prefixes match through the edge n-gram sub-field
+ * - Whole-word name matches rank above prefix matches
+ * - Full-text search requires every word, across name, email, and address
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class CustomerAutocompleteIT extends S2IntegrationTestBase {
+
+    @Autowired
+    private SearchService searchService;
+
+    @BeforeEach
+    void setUp() {
+        searchService.clearAll();
+        CompletableFuture.allOf(
+                index("Alice Smith", "alice.smith@acme.io", "12 Main Street"),
+                index("Alice Jones", "alice.jones@example.com", "7 Oak Avenue"),
+                index("Ann Lee", "ann.lee@example.com", "3 Harbour Road"),
+                index("Annabel Lee", "annabel@example.com", "9 Harbour Road"),
+                index("José García", "jose@example.com", "21 Plaza Mayor")
+        ).orTimeout(30, TimeUnit.SECONDS).join();
+    }
+
+    @Test
+    @DisplayName("Name search should match word prefixes")
+    void searchByName_prefixes_shouldMatch() {
+        // When - 每個字都只輸入前幾個字母
+        List<SearchService.CustomerSearchResult> results = searchService.searchByName("ali smi");
+
+        // Then
+        assertThat(results).extracting(SearchService.CustomerSearchResult::name)
+                .containsExactly("Alice Smith");
+    }
+
+    @Test
+    @DisplayName("Name search should ignore case and accents")
+    void searchByName_shouldFoldCaseAndAccents() {
+        // When
+        List<SearchService.CustomerSearchResult> results = searchService.searchByName("JOSE garc");
+
+        // Then
+        assertThat(results).extracting(SearchService.CustomerSearchResult::name)
+                .containsExactly("José García");
+    }
+
+    @Test
+    @DisplayName("Whole-word name matches should rank above prefix matches")
+    void searchByName_wholeWord_shouldRankFirst() {
+        // When
+        List<SearchService.CustomerSearchResult> results = searchService.searchByName("ann");
+
+        // Then - "Ann" 完整命中，"Annabel" 只是前綴
+        assertThat(results).extracting(SearchService.CustomerSearchResult::name)
+                .containsExactly("Ann Lee", "Annabel Lee");
+    }
+
+    @Test
+    @DisplayName("Full-text search should require every word across fields")
+    void fullTextSearch_shouldMatchWordsAcrossFields() {
+        // When - 姓名與地址各命中一個字
+        List<SearchService.CustomerSearchResult> nameAndAddress = searchService.fullTextSearch("alice main");
+        List<SearchService.CustomerSearchResult> emailDomain = searchService.fullTextSearch("acme");
+
+        // Then
+        assertThat(nameAndAddress).extracting(SearchService.CustomerSearchResult::name)
+                .containsExactly("Alice Smith");
+        assertThat(emailDomain).extracting(SearchService.CustomerSearchResult::name)
+                .containsExactly("Alice Smith");
+    }
+
+    private CompletableFuture<Void> index(String name, String email, String address) {
+        Customer customer = new Customer(UUID.randomUUID(), name, email);
+        customer.setAddress(address);
+        customer.setCreatedAt(Instant.now());
+        customer.setUpdatedAt(Instant.now());
+        return searchService.index(customer, RefreshPolicy.WAIT_UNTIL);
+    }
+}
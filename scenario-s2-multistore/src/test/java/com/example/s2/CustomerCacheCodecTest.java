@@ -0,0 +1,184 @@
+package com.example.s2;
+
+import com.example.s2.domain.Customer;
+import com.example.s2.service.codec.CacheCompression;
+import com.example.s2.service.codec.CustomerCacheCodec;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for the customer cache value codec.
+ *
+ * Validates:
+ * - Round trips for binary and JSON formats
+ * - LZ4 compression above the threshold
+ * - Reading values written in another or the legacy format
+ * - Rejecting corrupt compressed values and out-of-range timestamps
+ */
+class CustomerCacheCodecTest {
+
+    @Test
+    @DisplayName("Binary format should round-trip all fields")
+    void binary_shouldRoundTrip() {
+        // Given
+        CustomerCacheCodec codec = CustomerCacheCodec.of("binary", CacheCompression.NONE, 512);
+        Customer customer = customer("台北市信義區");
+
+        // When
+        Customer decoded = codec.decode(codec.encode(customer));
+
+        // Then
+        assertSameCustomer(decoded, customer);
+        assertThat(decoded.getPhone()).isNull();
+    }
+
+    @Test
+    @DisplayName("Binary format should be smaller than JSON")
+    void binary_shouldBeSmallerThanJson() {
+        // Given
+        Customer customer = customer("123 Main St");
+
+        // When
+        int binarySize = CustomerCacheCodec.of("binary", CacheCompression.NONE, 512).encode(customer).length;
+        int jsonSize = CustomerCacheCodec.of("json", CacheCompression.NONE, 512).encode(customer).length;
+
+        // Then
+        assertThat(binarySize).isLessThan(jsonSize);
+    }
+
+    @Test
+    @DisplayName("Values above the threshold should be LZ4-compressed")
+    void lz4_shouldCompressLargeValues() {
+        // Given
+        CustomerCacheCodec codec = CustomerCacheCodec.of("binary", CacheCompression.LZ4, 64);
+        Customer customer = customer("Building A, ".repeat(40));
+
+        // When
+        byte[] value = codec.encode(customer);
+
+        // Then
+        assertThat(value[0] & 0x80).isNotZero();
+        assertThat(value.length).isLessThan(customer.getAddress().length());
+        assertSameCustomer(codec.decode(value), customer);
+    }
+
+    @Test
+    @DisplayName("Switching write format should keep earlier values readable")
+    void decode_shouldReadOtherFormat() {
+        // Given
+        Customer customer = customer("456 Oak Ave");
+        byte[] jsonValue = CustomerCacheCodec.of("json", CacheCompression.NONE, 512).encode(customer);
+
+        // When
+        Customer decoded = CustomerCacheCodec.of("binary", CacheCompression.LZ4, 512).decode(jsonValue);
+
+        // Then
+        assertSameCustomer(decoded, customer);
+    }
+
+    @Test
+    @DisplayName("Headerless JSON written before the codec existed should be readable")
+    void decode_shouldReadLegacyJson() throws Exception {
+        // Given
+        Customer customer = customer("789 Pine Rd");
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        byte[] legacyValue = objectMapper.writeValueAsBytes(customer);
+
+        // When
+        Customer decoded = CustomerCacheCodec.of("binary", CacheCompression.NONE, 512).decode(legacyValue);
+
+        // Then
+        assertSameCustomer(decoded, customer);
+    }
+
+    @Test
+    @DisplayName("Unknown header should be rejected")
+    void decode_shouldRejectUnknownHeader() {
+        CustomerCacheCodec codec = CustomerCacheCodec.of("binary", CacheCompression.NONE, 512);
+
+        assertThatThrownBy(() -> codec.decode(new byte[] {0x0F, 1, 2, 3}))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Compressed values with a bogus length should be rejected without allocating it")
+    void decode_shouldRejectOutOfRangeLength() {
+        // Given - 標頭宣稱解壓後長度為 2GB
+        CustomerCacheCodec codec = CustomerCacheCodec.of("binary", CacheCompression.LZ4, 64);
+        byte[] value = codec.encode(customer("Building A, ".repeat(40)));
+        ByteBuffer.wrap(value, 1, 4).putInt(Integer.MAX_VALUE);
+
+        // When / Then
+        assertThatThrownBy(() -> codec.decode(value))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("out of range");
+    }
+
+    @Test
+    @DisplayName("Compressed values that do not decode to the stored length should be rejected")
+    void decode_shouldRejectLengthMismatch() {
+        // Given
+        CustomerCacheCodec codec = CustomerCacheCodec.of("binary", CacheCompression.LZ4, 64);
+        byte[] value = codec.encode(customer("Building A, ".repeat(40)));
+        int length = ByteBuffer.wrap(value, 1, 4).getInt();
+        ByteBuffer.wrap(value, 1, 4).putInt(length + 100);
+
+        // When / Then
+        assertThatThrownBy(() -> codec.decode(value))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Truncated compressed payloads should be rejected")
+    void decode_shouldRejectTruncatedPayload() {
+        // Given
+        CustomerCacheCodec codec = CustomerCacheCodec.of("binary", CacheCompression.LZ4, 64);
+        byte[] value = codec.encode(customer("Building A, ".repeat(40)));
+
+        // When / Then
+        assertThatThrownBy(() -> codec.decode(Arrays.copyOf(value, value.length / 2)))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Binary values with an out-of-range timestamp should be rejected")
+    void decode_shouldRejectOutOfRangeTimestamp() {
+        // Given - updatedAt 的秒數超出 Instant 範圍
+        CustomerCacheCodec codec = CustomerCacheCodec.of("binary", CacheCompression.NONE, 512);
+        byte[] value = codec.encode(customer("123 Main St"));
+        ByteBuffer.wrap(value, value.length - 12, 8).putLong(Long.MAX_VALUE);
+
+        // When / Then
+        assertThatThrownBy(() -> codec.decode(value))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("timestamp");
+    }
+
+    private static Customer customer(String address) {
+        Customer customer = new Customer(UUID.randomUUID(), "王小明", "ming." + UUID.randomUUID() + "@example.com");
+        customer.setAddress(address);
+        customer.setCreatedAt(Instant.parse("2024-01-01T00:00:00.123456Z"));
+        customer.setUpdatedAt(Instant.parse("2024-01-02T00:00:00.654321Z"));
+        return customer;
+    }
+
+    private static void assertSameCustomer(Customer actual, Customer expected) {
+        assertThat(actual.getId()).isEqualTo(expected.getId());
+        assertThat(actual.getName()).isEqualTo(expected.getName());
+        assertThat(actual.getEmail()).isEqualTo(expected.getEmail());
+        assertThat(actual.getPhone()).isEqualTo(expected.getPhone());
+        assertThat(actual.getAddress()).isEqualTo(expected.getAddress());
+        assertThat(actual.getCreatedAt()).isEqualTo(expected.getCreatedAt());
+        assertThat(actual.getUpdatedAt()).isEqualTo(expected.getUpdatedAt());
+    }
+}
@@ -0,0 +1,222 @@
+package com.example.s2;
+
+import com.example.s2.domain.Customer;
+import com.example.s2.repository.CustomerRepository;
+import com.example.s2.service.CustomerIndexManager;
+import com.example.s2.service.CustomerReindexJob;
+import com.example.s2.service.SearchService;
+import com.example.tc.util.TimeOrderedUuid;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.elasticsearch.client.elc.ElasticsearchTemplate;
+import org.springframework.data.elasticsearch.core.document.Document;
+import org.springframework.data.elasticsearch.core.index.AliasAction;
+import org.springframework.data.elasticsearch.core.index.AliasActionParameters;
+import org.springframework.data.elasticsearch.core.index.AliasActions;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Integration tests for rebuilding the search index from the database.
+ *
+ * Validates:
+ * - Every customer row ends up in the new index
+ * - Repeated runs move the alias to a new version, keeping the previous one for rollback
+ * - A legacy concrete index is replaced by an alias of the same name
+ * - An outdated mapping is rolled over to the current version
+ * - Slices hold about the same number of rows for time-ordered IDs
+ */
+@SpringBootTest(properties = {
+        "app.customers.reindex.batch-size=100",
+        "app.customers.search.replicas=0"
+})
+@ActiveProfiles("test")
+class CustomerReindexIT extends S2IntegrationTestBase {
+
+    private static final int UNINDEXED_CUSTOMERS = 500;
+
+    @Autowired
+    private CustomerReindexJob reindexJob;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private SearchService searchService;
+
+    @Autowired
+    private ElasticsearchTemplate elasticsearchTemplate;
+
+    @Autowired
+    private CustomerIndexManager indexManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        searchService.clearAll();
+    }
+
+    @Test
+    @DisplayName("Reindex should load every customer into a new version behind the alias")
+    void run_shouldLoadAllCustomersBehindAlias() {
+        // Given - 直接寫入資料庫，索引中沒有這些客戶
+        List<Customer> customers = customerRepository.saveAll(IntStream.range(0, UNINDEXED_CUSTOMERS)
+                .mapToObj(i -> new Customer(UUID.randomUUID(), "Reindex " + i, "reindex." + UUID.randomUUID() + "@example.com"))
+                .toList());
+        assertThat(searchService.isIndexed(customers.get(0).getId())).isFalse();
+
+        // When
+        CustomerReindexJob.ReindexResult result = reindexJob.run();
+
+        // Then
+        long rows = customerRepository.count();
+        assertThat(result.index()).startsWith("customers_v");
+        assertThat(result.loaded()).isEqualTo(rows);
+        assertThat(aliasedIndices()).containsExactly(result.index());
+        assertThat(searchService.count()).isEqualTo(rows);
+        assertThat(searchService.isIndexed(customers.get(UNINDEXED_CUSTOMERS - 1).getId())).isTrue();
+        assertThat(searchService.searchByEmail(customers.get(0).getEmail())).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Second reindex should move the alias to a new version and keep the old one")
+    void run_twice_shouldSwapToNewVersion() {
+        // Given
+        customerRepository.save(new Customer(UUID.randomUUID(), "Reindex Twice", "reindex.twice." + UUID.randomUUID() + "@example.com"));
+        CustomerReindexJob.ReindexResult first = reindexJob.run();
+
+        // When
+        CustomerReindexJob.ReindexResult second = reindexJob.run();
+
+        // Then
+        assertThat(second.index()).isNotEqualTo(first.index());
+        assertThat(aliasedIndices()).containsExactly(second.index());
+        assertThat(elasticsearchTemplate.indexOps(IndexCoordinates.of(first.index())).exists()).isTrue();
+        await().atMost(5, TimeUnit.SECONDS)
+                .untilAsserted(() -> assertThat(searchService.count()).isEqualTo(customerRepository.count()));
+    }
+
+    @Test
+    @DisplayName("Reindex should keep only the newest replaced version")
+    void run_threeTimes_shouldDropVersionsBeyondRetained() throws IOException {
+        // Given
+        customerRepository.save(new Customer(UUID.randomUUID(), "Reindex Thrice", "reindex.thrice." + UUID.randomUUID() + "@example.com"));
+        CustomerReindexJob.ReindexResult first = reindexJob.run();
+        CustomerReindexJob.ReindexResult second = reindexJob.run();
+
+        // When
+        CustomerReindexJob.ReindexResult third = reindexJob.run();
+
+        // Then - 保留上一版以便回滾，更舊的版本被刪除
+        assertThat(aliasedIndices()).containsExactly(third.index());
+        assertThat(elasticsearchTemplate.indexOps(IndexCoordinates.of(second.index())).exists()).isTrue();
+        assertThat(elasticsearchTemplate.indexOps(IndexCoordinates.of(first.index())).exists()).isFalse();
+
+        // When - 回滾到上一版
+        indexManager.swapAlias(second.index());
+
+        // Then
+        assertThat(aliasedIndices()).containsExactly(second.index());
+        assertThat(elasticsearchTemplate.indexOps(IndexCoordinates.of(third.index())).exists()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Reindex should replace a legacy concrete index with an alias of the same name")
+    void run_legacyConcreteIndex_shouldBeReplacedByAlias() {
+        // Given - 舊版直接建立的實體索引
+        dropAliasedIndices();
+        elasticsearchTemplate.indexOps(IndexCoordinates.of("customers")).create();
+        Customer customer = customerRepository.save(
+                new Customer(UUID.randomUUID(), "Legacy", "legacy." + UUID.randomUUID() + "@example.com"));
+
+        // When
+        CustomerReindexJob.ReindexResult result = reindexJob.run();
+
+        // Then
+        assertThat(aliasedIndices()).containsExactly(result.index());
+        assertThat(indexManager.isCurrent()).isTrue();
+        assertThat(searchService.isIndexed(customer.getId())).isTrue();
+    }
+
+    @Test
+    @DisplayName("Reindex should roll an outdated mapping over to the current version")
+    void run_outdatedMapping_shouldRollOver() {
+        // Given - 別名指向未標記 mapping 版本的索引
+        dropAliasedIndices();
+        Document unversioned = Document.create();
+        unversioned.put("properties", Map.of("name", Map.of("type", "keyword")));
+        elasticsearchTemplate.indexOps(IndexCoordinates.of("customers_legacy")).create(Map.of(), unversioned);
+        elasticsearchTemplate.indexOps(IndexCoordinates.of("customers_legacy")).alias(new AliasActions(
+                new AliasAction.Add(AliasActionParameters.builder()
+                        .withIndices("customers_legacy")
+                        .withAliases("customers")
+                        .build())));
+        assertThat(indexManager.isCurrent()).isFalse();
+
+        // When
+        CustomerReindexJob.ReindexResult result = reindexJob.run();
+
+        // Then
+        assertThat(indexManager.mappingVersion()).hasValue(CustomerIndexManager.MAPPING_VERSION);
+        assertThat(aliasedIndices()).containsExactly(result.index());
+        assertThat(elasticsearchTemplate.indexOps(IndexCoordinates.of("customers_legacy")).exists()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Slice bounds should split time-ordered IDs into ranges of equal size")
+    void findSliceLowerBounds_timeOrderedIds_shouldSpreadRowsEvenly() {
+        // Given - UUIDv7 集中在 UUID 空間的一小段
+        customerRepository.saveAll(IntStream.range(0, UNINDEXED_CUSTOMERS)
+                .mapToObj(i -> new Customer(TimeOrderedUuid.next(), "Slice " + i, "slice." + UUID.randomUUID() + "@example.com"))
+                .toList());
+        long rows = customerRepository.count();
+
+        // When
+        List<UUID> bounds = customerRepository.findSliceLowerBounds(4);
+
+        // Then - ntile 讓每一段的筆數最多相差一筆
+        assertThat(bounds).hasSize(4).doesNotHaveDuplicates();
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        for (int i = 0; i < bounds.size(); i++) {
+            UUID from = bounds.get(i);
+            UUID to = i + 1 < bounds.size() ? bounds.get(i + 1) : null;
+            Long count = readOnly.execute(status -> {
+                try (Stream<Customer> customers = to != null
+                        ? customerRepository.streamByIdRange(from, to)
+                        : customerRepository.streamByIdFrom(from)) {
+                    return customers.count();
+                }
+            });
+            assertThat(count).isBetween(rows / 4, rows / 4 + 1);
+        }
+    }
+
+    private void dropAliasedIndices() {
+        for (String index : aliasedIndices()) {
+            elasticsearchTemplate.indexOps(IndexCoordinates.of(index)).delete();
+        }
+    }
+
+    private List<String> aliasedIndices() {
+        return List.copyOf(elasticsearchTemplate.indexOps(IndexCoordinates.of("customers")).getAliases("customers").keySet());
+    }
+}
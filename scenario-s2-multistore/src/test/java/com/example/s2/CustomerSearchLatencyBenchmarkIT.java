@@ -0,0 +1,219 @@
+package com.example.s2;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch.core.BulkRequest;
+import co.elastic.clients.elasticsearch.core.BulkResponse;
+import com.example.s2.service.CustomerIndexManager;
+import com.example.s2.service.SearchService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.elasticsearch.client.elc.ElasticsearchTemplate;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
+import org.springframework.data.elasticsearch.core.query.Criteria;
+import org.springframework.data.elasticsearch.core.query.CriteriaQuery;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Query latency of the analyzed name and full-text searches versus the former wildcard queries.
+ * Synthetic customers are bulk-loaded into one index in stages, and both query styles are timed
+ * at each size with the same search terms.
+ * Tagged {@code performance}; run with {@code ./gradlew :scenario-s2-multistore:performanceTest}.
+ *
+ * Given 1M 與 10M 筆合成客戶資料
+ * When 分別以 wildcard (*term*) 與 edge n-gram / multi_match 查詢
+ * Then 輸出兩種查詢的 p50/p99 延遲，n-gram 查詢不隨資料量明顯變慢
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Tag("performance")
+class CustomerSearchLatencyBenchmarkIT extends S2IntegrationTestBase {
+
+    private static final int[] STAGE_SIZES = {1_000_000, 10_000_000};
+    private static final int BULK_SIZE = 5_000;
+    private static final int LOADER_THREADS = 4;
+    private static final int WARMUP_QUERIES = 100;
+    private static final int MEASURED_QUERIES = 500;
+    private static final int PAGE_SIZE = 20;
+
+    private static final String[] FIRST_NAMES = {
+        "Alice", "Bob", "Carol", "David", "Emma", "Frank", "Grace", "Henry", "Isabel", "Jack",
+        "Karen", "Liam", "Maria", "Noah", "Olivia", "Peter", "Quinn", "Rosa", "Samuel", "Tara",
+        "Umar", "Vera", "William", "Xenia", "Yusuf", "Zoe", "Anna", "Bruno", "Chloe", "Diego"
+    };
+    private static final String[] SYLLABLES = {
+        "an", "ber", "cal", "dor", "el", "fen", "gar", "hol", "in", "jas", "kel", "lin", "mor", "nes", "or",
+        "per", "quin", "ros", "sten", "tor", "ul", "van", "wil", "xan", "yor", "zel", "ash", "bro", "cor", "dal"
+    };
+    private static final String[] STREETS = {
+        "Main Street", "Oak Avenue", "Harbour Road", "Station Lane", "Park Crescent", "Mill Road",
+        "High Street", "Church Lane", "Victoria Road", "King Street"
+    };
+
+    @Autowired
+    private ElasticsearchClient client;
+
+    @Autowired
+    private ElasticsearchTemplate elasticsearchTemplate;
+
+    @Autowired
+    private CustomerIndexManager indexManager;
+
+    @Autowired
+    private SearchService searchService;
+
+    @AfterEach
+    void dropIndex() {
+        searchService.clearAll();
+    }
+
+    @Test
+    void shouldCompareWildcardAndAnalyzedSearchLatency() throws IOException {
+        // Given - 以批次載入設定建立索引，別名立即指向它
+        String index = indexManager.createIndex(true);
+        indexManager.swapAlias(index);
+        List<String> terms = searchTerms(new Random(7));
+
+        int loaded = 0;
+        for (int size : STAGE_SIZES) {
+            long start = System.nanoTime();
+            load(index, loaded, size);
+            client.indices().refresh(r -> r.index(index));
+            client.indices().forcemerge(f -> f.index(index).maxNumSegments(1L));
+            log.info("Loaded {} customers in {} s", size, (System.nanoTime() - start) / 1_000_000_000);
+            loaded = size;
+
+            // When
+            long[] wildcardName = time(terms, this::wildcardNameSearch);
+            long[] analyzedName = time(terms, term -> searchService.searchByName(term));
+            long[] wildcardFullText = time(terms, this::wildcardFullTextSearch);
+            long[] analyzedFullText = time(terms, term -> searchService.fullTextSearch(term));
+
+            // Then
+            report(size, "name, wildcard", wildcardName);
+            report(size, "name, edge n-gram", analyzedName);
+            report(size, "full text, wildcard", wildcardFullText);
+            report(size, "full text, multi_match", analyzedFullText);
+            assertThat(percentile(analyzedName, 50)).isLessThan(percentile(wildcardName, 50));
+            assertThat(percentile(analyzedFullText, 50)).isLessThan(percentile(wildcardFullText, 50));
+        }
+    }
+
+    /**
+     * Loads customers {@code from} (inclusive) to {@code to} (exclusive), generated from their sequence number.
+     */
+    private void load(String index, int from, int to) {
+        try (ExecutorService executor = Executors.newFixedThreadPool(LOADER_THREADS)) {
+            List<CompletableFuture<Void>> batches = new ArrayList<>();
+            for (int batchStart = from; batchStart < to; batchStart += BULK_SIZE) {
+                int start = batchStart;
+                int end = Math.min(batchStart + BULK_SIZE, to);
+                batches.add(CompletableFuture.runAsync(() -> bulk(index, start, end), executor));
+            }
+            CompletableFuture.allOf(batches.toArray(CompletableFuture[]::new)).join();
+        }
+    }
+
+    private void bulk(String index, int from, int to) {
+        BulkRequest.Builder request = new BulkRequest.Builder().index(index);
+        for (int i = from; i < to; i++) {
+            SearchService.CustomerDocument document = customer(new Random(i));
+            request.operations(op -> op.index(idx -> idx.id(document.id).document(document)));
+        }
+        try {
+            BulkResponse response = client.bulk(request.build());
+            assertThat(response.errors()).isFalse();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static SearchService.CustomerDocument customer(Random random) {
+        String first = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+        String last = lastName(random);
+        SearchService.CustomerDocument document = new SearchService.CustomerDocument();
+        document.id = UUID.randomUUID().toString();
+        document.name = first + " " + last;
+        document.email = (first + "." + last).toLowerCase() + random.nextInt(10_000) + "@example.com";
+        document.phone = "555-" + (1_000_000 + random.nextInt(9_000_000));
+        document.address = (1 + random.nextInt(500)) + " " + STREETS[random.nextInt(STREETS.length)];
+        return document;
+    }
+
+    /** About 27,000 distinct last names, so prefixes select a realistic share of the index. */
+    private static String lastName(Random random) {
+        String name = SYLLABLES[random.nextInt(SYLLABLES.length)]
+                + SYLLABLES[random.nextInt(SYLLABLES.length)]
+                + SYLLABLES[random.nextInt(SYLLABLES.length)];
+        return Character.toUpperCase(name.charAt(0)) + name.substring(1);
+    }
+
+    /** Single words, typed as a user would: last-name prefixes and whole first names. */
+    private static List<String> searchTerms(Random random) {
+        List<String> terms = new ArrayList<>();
+        for (int i = 0; i < WARMUP_QUERIES + MEASURED_QUERIES; i++) {
+            terms.add(i % 2 == 0
+                    ? lastName(random).substring(0, 3 + random.nextInt(3)).toLowerCase()
+                    : FIRST_NAMES[random.nextInt(FIRST_NAMES.length)]);
+        }
+        return terms;
+    }
+
+    /** The name query used before the edge n-gram mapping: a {@code *term*} wildcard. */
+    private void wildcardNameSearch(String term) {
+        wildcardSearch(new Criteria("name").contains(term));
+    }
+
+    private void wildcardFullTextSearch(String term) {
+        wildcardSearch(new Criteria("name").contains(term)
+                .or(new Criteria("email").contains(term))
+                .or(new Criteria("address").contains(term)));
+    }
+
+    private void wildcardSearch(Criteria criteria) {
+        CriteriaQuery query = new CriteriaQuery(criteria);
+        query.setPageable(PageRequest.of(0, PAGE_SIZE));
+        query.setTrackTotalHitsUpTo(1000);
+        elasticsearchTemplate.search(query, SearchService.CustomerDocument.class,
+                IndexCoordinates.of(CustomerIndexManager.ALIAS));
+    }
+
+    private static long[] time(List<String> terms, Consumer<String> search) {
+        terms.subList(0, WARMUP_QUERIES).forEach(search);
+        long[] nanos = new long[MEASURED_QUERIES];
+        for (int i = 0; i < MEASURED_QUERIES; i++) {
+            long start = System.nanoTime();
+            search.accept(terms.get(WARMUP_QUERIES + i));
+            nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+        return nanos;
+    }
+
+    private void report(int size, String query, long[] sortedNanos) {
+        log.info("{} customers, {}: p50 {} ms, p99 {} ms", size, query,
+            String.format("%.1f", percentile(sortedNanos, 50) / 1_000_000.0),
+            String.format("%.1f", percentile(sortedNanos, 99) / 1_000_000.0));
+    }
+
+    private static long percentile(long[] sortedNanos, int percentile) {
+        return sortedNanos[Math.min(sortedNanos.length - 1, sortedNanos.length * percentile / 100)];
+    }
+}
@@ -124,13 +124,14 @@ class ElasticsearchSyncIT extends S2IntegrationTestBase {
                     assertThat(customerService.isIndexed(customer.getId())).isTrue();
                 });
 
-        // When
-        List<SearchService.CustomerSearchResult> results = searchService.searchByEmail(uniqueEmail);
-
-        // Then
-        assertThat(results).hasSize(1);
-        assertThat(results.get(0).email()).isEqualTo(uniqueEmail);
-        assertThat(results.get(0).id()).isEqualTo(customer.getId());
+        // When / Then - 文件在下次 refresh 後才可搜尋
+        await().atMost(SYNC_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+                .untilAsserted(() -> {
+                    List<SearchService.CustomerSearchResult> results = searchService.searchByEmail(uniqueEmail);
+                    assertThat(results).hasSize(1);
+                    assertThat(results.get(0).email()).isEqualTo(uniqueEmail);
+                    assertThat(results.get(0).id()).isEqualTo(customer.getId());
+                });
     }
 
     @Test
@@ -150,12 +151,13 @@ class ElasticsearchSyncIT extends S2IntegrationTestBase {
                     assertThat(customerService.isIndexed(customer.getId())).isTrue();
                 });
 
-        // When - Search by address
-        List<SearchService.CustomerSearchResult> results = customerService.fullTextSearch("Searchable");
-
-        // Then
-        assertThat(results).hasSizeGreaterThanOrEqualTo(1);
-        assertThat(results.stream().anyMatch(r -> r.id().equals(customer.getId()))).isTrue();
+        // When / Then - Search by address once the document is searchable
+        await().atMost(SYNC_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+                .untilAsserted(() -> {
+                    List<SearchService.CustomerSearchResult> results = customerService.fullTextSearch("Searchable");
+                    assertThat(results).hasSizeGreaterThanOrEqualTo(1);
+                    assertThat(results.stream().anyMatch(r -> r.id().equals(customer.getId()))).isTrue();
+                });
     }
 
     @Test
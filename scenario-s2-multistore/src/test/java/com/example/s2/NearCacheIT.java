@@ -0,0 +1,164 @@
+package com.example.s2;
+
+import com.example.s2.domain.Customer;
+import com.example.s2.service.CacheService;
+import com.example.s2.service.CustomerNearCache;
+import com.example.s2.service.CustomerService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Integration tests for the in-process near cache in front of Redis.
+ *
+ * Validates:
+ * - Hot reads served from heap
+ * - Local eviction on update and delete
+ * - Eviction when another node broadcasts an invalidation
+ * - No broadcast for read-miss fills
+ */
+@SpringBootTest(properties = "app.customers.near-cache.enabled=true")
+@ActiveProfiles("test")
+class NearCacheIT extends S2IntegrationTestBase {
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private CacheService cacheService;
+
+    @Autowired
+    private CustomerNearCache nearCache;
+
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private RedisMessageListenerContainer listenerContainer;
+
+    @BeforeEach
+    void setUp() {
+        cacheService.clearAll();
+    }
+
+    @Test
+    @DisplayName("Hot read should be served from the near cache")
+    void findById_shouldHitNearCache() {
+        // Given
+        Customer customer = createCustomer("Near Hit");
+        double hitsBefore = cacheGets("hit");
+
+        // When
+        customerService.findById(customer.getId());
+
+        // Then
+        assertThat(nearCache.contains(customer.getId())).isTrue();
+        assertThat(cacheGets("hit")).isGreaterThan(hitsBefore);
+    }
+
+    @Test
+    @DisplayName("Delete should evict the near cache entry")
+    void deleteCustomer_shouldEvictNearCache() {
+        // Given
+        Customer customer = createCustomer("Near Delete");
+        assertThat(nearCache.contains(customer.getId())).isTrue();
+
+        // When
+        customerService.deleteCustomer(customer.getId());
+
+        // Then
+        assertThat(nearCache.contains(customer.getId())).isFalse();
+    }
+
+    @Test
+    @DisplayName("Invalidation from another node should evict the near cache entry")
+    void remoteInvalidation_shouldEvictNearCache() {
+        // Given
+        Customer customer = createCustomer("Near Remote");
+        assertThat(nearCache.contains(customer.getId())).isTrue();
+
+        // When - 模擬其他節點更新該客戶
+        redisTemplate.convertAndSend(CustomerNearCache.INVALIDATION_CHANNEL, "other-node:" + customer.getId());
+
+        // Then
+        await().atMost(5, TimeUnit.SECONDS)
+            .untilAsserted(() -> assertThat(nearCache.contains(customer.getId())).isFalse());
+    }
+
+    @Test
+    @DisplayName("Own broadcasts should not evict the local entry")
+    void updateCustomer_shouldKeepFreshLocalEntry() throws InterruptedException {
+        // Given
+        Customer customer = createCustomer("Near Update");
+
+        // When
+        customerService.updateCustomer(customer.getId(), "Near Updated", null, null);
+        Thread.sleep(500);
+
+        // Then
+        assertThat(nearCache.get(customer.getId())).get()
+            .extracting(Customer::getName)
+            .isEqualTo("Near Updated");
+    }
+
+    @Test
+    @DisplayName("Read-miss fills should not invalidate other nodes")
+    void findById_cacheMiss_shouldNotBroadcast() throws InterruptedException {
+        // Given - 快取未命中，需從資料庫載入
+        Customer customer = createCustomer("Near Fill");
+        cacheService.evict(customer.getId());
+        Thread.sleep(500);
+        List<String> broadcasts = new CopyOnWriteArrayList<>();
+        MessageListener recorder = (message, pattern) -> broadcasts.add(new String(message.getBody(), StandardCharsets.UTF_8));
+        listenerContainer.addMessageListener(recorder, new ChannelTopic(CustomerNearCache.INVALIDATION_CHANNEL));
+
+        try {
+            // When
+            customerService.findById(customer.getId());
+            Thread.sleep(500);
+
+            // Then - 本地已回填，但沒有發出失效廣播
+            assertThat(nearCache.contains(customer.getId())).isTrue();
+            assertThat(broadcasts).noneMatch(target -> target.endsWith(customer.getId().toString()));
+        } finally {
+            listenerContainer.removeMessageListener(recorder);
+        }
+    }
+
+    private Customer createCustomer(String name) {
+        return customerService.createCustomer(
+                name,
+                "near." + UUID.randomUUID() + "@example.com",
+                null,
+                null
+        );
+    }
+
+    private double cacheGets(String result) {
+        return meterRegistry.get("cache.gets")
+            .tag("cache", "customers.near")
+            .tag("result", result)
+            .functionCounter()
+            .count();
+    }
+}
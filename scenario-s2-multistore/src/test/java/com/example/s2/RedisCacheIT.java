@@ -10,8 +10,11 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
 
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -25,6 +28,8 @@ import static org.assertj.core.api.Assertions.assertThat;
  * - Write-through cache population
  * - Read-through cache population
  * - Cache eviction
+ * - Read-through fills never overwrite concurrent writes
+ * - Non-blocking clear across SCAN batches
  */
 @SpringBootTest
 @ActiveProfiles("test")
@@ -205,4 +210,106 @@ class RedisCacheIT extends S2IntegrationTestBase {
         assertThat(ttl).isPresent();
         assertThat(ttl.get().toMinutes()).isGreaterThan(0);
     }
+
+    @Test
+    @DisplayName("Multi-get should split cached customers from misses")
+    void getAll_shouldReturnHitsAndMisses() {
+        // Given
+        Customer cached = customerService.createCustomer(
+                "Multi Get",
+                "multi.get." + UUID.randomUUID() + "@example.com",
+                null,
+                null
+        );
+        UUID missing = UUID.randomUUID();
+
+        // When
+        CacheService.MultiGetResult result = cacheService.getAll(List.of(cached.getId(), missing));
+
+        // Then
+        assertThat(result.hits()).containsOnlyKeys(cached.getId());
+        assertThat(result.misses()).containsExactly(missing);
+    }
+
+    @Test
+    @DisplayName("Bulk read-through should load misses from DB and back-fill cache")
+    void findAllById_shouldLoadMissesAndBackFillCache() {
+        // Given
+        Customer first = customerService.createCustomer(
+                "Bulk One", "bulk.one." + UUID.randomUUID() + "@example.com", null, null);
+        Customer second = customerService.createCustomer(
+                "Bulk Two", "bulk.two." + UUID.randomUUID() + "@example.com", null, null);
+        cacheService.evict(second.getId());
+        UUID missing = UUID.randomUUID();
+
+        // When
+        List<Customer> found = customerService.findAllById(List.of(second.getId(), missing, first.getId()));
+
+        // Then - 依請求順序回傳，未命中者回填快取
+        assertThat(found).extracting(Customer::getId).containsExactly(second.getId(), first.getId());
+        assertThat(customerService.isCached(second.getId())).isTrue();
+        assertThat(cacheService.getTtl(second.getId())).isPresent();
+        assertThat(customerService.isCached(missing)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Read-through fill should not overwrite a write made during the load")
+    void fill_concurrentPutDuringMiss_shouldKeepNewerValue() {
+        // Given - 快取未命中，已讀到舊版本
+        Customer customer = customerService.createCustomer(
+                "Before Update", "fill.race." + UUID.randomUUID() + "@example.com", null, null);
+        cacheService.evict(customer.getId());
+        Customer stale = customerService.findByIdFromDatabase(customer.getId()).orElseThrow();
+
+        // When - 載入期間另一個請求寫入新版本
+        cacheService.fill(customer.getId(), () -> {
+            customerService.updateCustomer(customer.getId(), "After Update", null, null);
+            return Optional.of(stale);
+        });
+
+        // Then
+        assertThat(cacheService.get(customer.getId())).get()
+                .extracting(Customer::getName).isEqualTo("After Update");
+    }
+
+    @Test
+    @DisplayName("Early refresh should not overwrite a write made during the reload")
+    void fill_concurrentPutDuringRefresh_shouldKeepNewerValue() {
+        // Given - 快取中已有舊版本，背景重新載入
+        Customer customer = customerService.createCustomer(
+                "Before Update", "refresh.race." + UUID.randomUUID() + "@example.com", null, null);
+        Customer stale = customerService.findByIdFromDatabase(customer.getId()).orElseThrow();
+
+        // When
+        cacheService.fill(customer.getId(), () -> {
+            customerService.updateCustomer(customer.getId(), "After Update", null, null);
+            return Optional.of(stale);
+        });
+
+        // Then
+        assertThat(cacheService.get(customer.getId())).get()
+                .extracting(Customer::getName).isEqualTo("After Update");
+    }
+
+    @Test
+    @DisplayName("Clear should remove entries spanning several SCAN batches")
+    void clearAll_shouldRemoveEntriesAcrossScanBatches() {
+        // Given - 超過單一 SCAN/UNLINK 批次大小
+        List<Customer> customers = IntStream.range(0, 1_200)
+                .mapToObj(i -> {
+                    Customer customer = new Customer(UUID.randomUUID(), "Scan " + i, "scan." + i + "@example.com");
+                    customer.setCreatedAt(Instant.now());
+                    customer.setUpdatedAt(Instant.now());
+                    return customer;
+                })
+                .toList();
+        cacheService.putAll(customers);
+        assertThat(cacheService.getAll(customers.stream().map(Customer::getId).toList()).misses()).isEmpty();
+
+        // When
+        cacheService.clearAll();
+
+        // Then
+        assertThat(cacheService.getAll(customers.stream().map(Customer::getId).toList()).hits()).isEmpty();
+    }
 }
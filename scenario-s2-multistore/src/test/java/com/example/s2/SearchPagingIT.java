@@ -0,0 +1,104 @@
+package com.example.s2;
+
+import com.example.s2.domain.Customer;
+import com.example.s2.service.SearchService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.elasticsearch.core.RefreshPolicy;
+import org.springframework.data.elasticsearch.core.TotalHitsRelation;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for paged customer search.
+ *
+ * Validates:
+ * - search_after pages cover every hit exactly once
+ * - Total hit counting is capped at the configured limit
+ */
+@SpringBootTest(properties = "app.customers.search.track-total-hits-up-to=50")
+@ActiveProfiles("test")
+class SearchPagingIT extends S2IntegrationTestBase {
+
+    private static final int MATCHING_CUSTOMERS = 55;
+    private static final int PAGE_SIZE = 20;
+
+    @Autowired
+    private SearchService searchService;
+
+    @BeforeEach
+    void setUp() {
+        searchService.clearAll();
+        CompletableFuture<?>[] writes = IntStream.range(0, MATCHING_CUSTOMERS)
+                .mapToObj(i -> searchService.index(customer("Pager " + i), RefreshPolicy.WAIT_UNTIL))
+                .toArray(CompletableFuture[]::new);
+        CompletableFuture.allOf(writes).orTimeout(30, TimeUnit.SECONDS).join();
+    }
+
+    @Test
+    @DisplayName("search_after should page through every hit exactly once")
+    void searchByName_pages_shouldCoverAllHitsOnce() {
+        // Given
+        List<SearchService.CustomerSearchResult> seen = new ArrayList<>();
+        List<Integer> pageSizes = new ArrayList<>();
+        List<Object> searchAfter = null;
+
+        // When - 逐頁讀取直到沒有下一頁
+        do {
+            SearchService.SearchPage page = searchService.searchByName("Pager", PAGE_SIZE, searchAfter);
+            seen.addAll(page.results());
+            pageSizes.add(page.results().size());
+            searchAfter = page.nextSearchAfter();
+        } while (searchAfter != null);
+
+        // Then
+        assertThat(pageSizes).containsExactly(20, 20, 15);
+        Set<UUID> ids = new HashSet<>();
+        seen.forEach(result -> ids.add(result.id()));
+        assertThat(ids).hasSize(MATCHING_CUSTOMERS);
+    }
+
+    @Test
+    @DisplayName("Total hits should be a lower bound beyond the tracking limit")
+    void searchByName_shouldCapTotalHits() {
+        // When
+        SearchService.SearchPage page = searchService.searchByName("Pager", PAGE_SIZE, null);
+
+        // Then
+        assertThat(page.totalHits()).isEqualTo(50);
+        assertThat(page.totalHitsRelation()).isEqualTo(TotalHitsRelation.GREATER_THAN_OR_EQUAL_TO);
+    }
+
+    @Test
+    @DisplayName("Page size should be capped")
+    void fullTextSearch_oversizedPage_shouldBeCapped() {
+        // When
+        SearchService.SearchPage page = searchService.fullTextSearch("Pager", 10_000, null);
+
+        // Then
+        assertThat(page.results()).hasSize(MATCHING_CUSTOMERS);
+        assertThat(page.nextSearchAfter()).isNull();
+    }
+
+    private Customer customer(String name) {
+        Customer customer = new Customer(UUID.randomUUID(), name, "pager." + UUID.randomUUID() + "@example.com");
+        customer.setAddress("1 Paging Road");
+        customer.setCreatedAt(Instant.now());
+        customer.setUpdatedAt(Instant.now());
+        return customer;
+    }
+}
@@ -13,6 +13,7 @@ include("scenario-s5-resilience")
 include("scenario-s6-security")
 include("scenario-s7-cloud")
 include("scenario-s8-contract")
+include("benchmarks")
 
 // Plugin management for version catalog
 pluginManagement {
@@ -0,0 +1,33 @@
+package com.example.tc.util;
+
+import java.util.UUID;
+
+/**
+ * Strategy for generating entity identifiers.
+ * Bound from configuration such as {@code app.orders.id-strategy: time-ordered}.
+ */
+public enum UuidStrategy {
+
+    /** Random version 4 UUIDs; inserts land on random index pages. */
+    RANDOM {
+        @Override
+        public UUID next() {
+            return UUID.randomUUID();
+        }
+    },
+
+    /** Time-ordered version 7 UUIDs; inserts append to the end of the index. */
+    TIME_ORDERED {
+        @Override
+        public UUID next() {
+            return TimeOrderedUuid.next();
+        }
+    };
+
+    /**
+     * Generates a new identifier.
+     *
+     * @return a new UUID
+     */
+    public abstract UUID next();
+}
@@ -0,0 +1,64 @@
+package com.example.tc.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for TimeOrderedUuid.
+ * Verifies the version 7 layout and ordering by timestamp.
+ */
+class TimeOrderedUuidTest {
+
+    @Test
+    void next_shouldSetVersionAndVariant() {
+        // When
+        UUID uuid = TimeOrderedUuid.next();
+
+        // Then
+        assertEquals(7, uuid.version(), "Should be a version 7 UUID");
+        assertEquals(2, uuid.variant(), "Should use the RFC variant");
+    }
+
+    @Test
+    void of_shouldEmbedTimestamp() {
+        // Given
+        long epochMillis = 1_700_000_000_123L;
+
+        // When
+        UUID uuid = TimeOrderedUuid.of(epochMillis);
+
+        // Then
+        assertEquals(epochMillis, TimeOrderedUuid.epochMillis(uuid));
+    }
+
+    @Test
+    void of_shouldSortByTimestamp() {
+        // Given
+        UUID earlier = TimeOrderedUuid.of(1_700_000_000_000L);
+
+        // When
+        UUID later = TimeOrderedUuid.of(1_700_000_000_001L);
+
+        // Then - 以位元組順序比較，與 PostgreSQL uuid 排序一致
+        assertTrue(Long.compareUnsigned(earlier.getMostSignificantBits(), later.getMostSignificantBits()) < 0,
+            "Later timestamp should sort after earlier one");
+    }
+
+    @Test
+    void of_shouldGenerateDistinctIdsWithinSameMillisecond() {
+        // When
+        UUID first = TimeOrderedUuid.of(1_700_000_000_000L);
+        UUID second = TimeOrderedUuid.of(1_700_000_000_000L);
+
+        // Then
+        assertNotEquals(first, second);
+    }
+
+    @Test
+    void epochMillis_shouldRejectRandomUuid() {
+        assertThrows(IllegalArgumentException.class, () -> TimeOrderedUuid.epochMillis(UUID.randomUUID()));
+    }
+}